@@ -0,0 +1,131 @@
+package com.corporatebanking.authorizationservice;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps each user's latest login time and failed-attempt count in memory and writes the
+ * changed rows periodically as one batched UPDATE, instead of a write transaction per login.
+ * Repeated logins of a user between flushes collapse into one row. Changes not yet flushed
+ * are lost if the process dies; they are flushed on a normal shutdown.
+ */
+@ApplicationScoped
+public class ActivityTracker {
+
+    private static final Logger LOG = Logger.getLogger(ActivityTracker.class);
+
+    private static final String UPDATE =
+            "UPDATE users SET last_login_at = COALESCE(?, last_login_at), failed_login_attempts = ? WHERE user_id = ?";
+
+    @ConfigProperty(name = "activity.flush-interval", defaultValue = "10s")
+    Duration flushInterval;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    MeterRegistry registry;
+
+    private record Pending(Long lastLoginAt, int failedAttempts) {
+    }
+
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+
+    void onStart(@Observes StartupEvent event) {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "activity-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    public void loginSucceeded(String userId) {
+        pending.put(userId, new Pending(System.currentTimeMillis(), 0));
+    }
+
+    /**
+     * @param storedAttempts the count as loaded with the user, used when nothing is pending
+     * @return the user's failed-attempt count including this one
+     */
+    public int loginFailed(String userId, int storedAttempts) {
+        return pending.merge(userId, new Pending(null, storedAttempts + 1),
+                (current, ignored) -> new Pending(current.lastLoginAt(), current.failedAttempts() + 1))
+                .failedAttempts();
+    }
+
+    synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Pending>> batch = new ArrayList<>(pending.size());
+        for (String userId : pending.keySet()) {
+            Pending changes = pending.remove(userId);
+            if (changes != null) {
+                batch.add(Map.entry(userId, changes));
+            }
+        }
+
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            connection.setAutoCommit(false);
+            for (Map.Entry<String, Pending> entry : batch) {
+                Pending changes = entry.getValue();
+                if (changes.lastLoginAt() != null) {
+                    statement.setTimestamp(1, new Timestamp(changes.lastLoginAt()));
+                } else {
+                    statement.setNull(1, Types.TIMESTAMP);
+                }
+                statement.setInt(2, changes.failedAttempts());
+                statement.setString(3, entry.getKey());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+            registry.timer("db_query", "query", "activityUpdate")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            LOG.debugf("Flushed login activity for %d users", batch.size());
+        } catch (SQLException e) {
+            LOG.errorf("Failed to flush login activity for %d users: %s", batch.size(), e.getMessage());
+            for (Map.Entry<String, Pending> entry : batch) {
+                pending.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.corporatebanking.authorizationservice;
 
 import com.corporatebanking.authorizationservice.grpc.*;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.grpc.GrpcService;
 import io.smallrye.mutiny.Uni;
-import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.quarkus.virtual.threads.VirtualThreads;
 import jakarta.inject.Singleton;
 import org.jboss.logging.Logger;
 import org.keycloak.admin.client.Keycloak;
@@ -23,10 +27,14 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.corporatebanking.authorizationservice.audit.AuditEvent;
+import com.corporatebanking.authorizationservice.audit.AuditLog;
 import com.corporatebanking.authorizationservice.entity.UserEntity;
+import com.corporatebanking.authorizationservice.jfr.PasswordEvent;
+import com.corporatebanking.authorizationservice.policy.PermissionMatrix;
+import com.corporatebanking.authorizationservice.policy.PolicyEngine;
+import com.corporatebanking.authorizationservice.token.TokenClaims;
+import com.corporatebanking.authorizationservice.token.TokenService;
 import com.corporatebanking.authorizationservice.repository.UserRepository;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -34,9 +42,9 @@ import io.quarkus.arc.Arc;
 import io.quarkus.arc.ManagedContext;
 import org.mindrot.jbcrypt.BCrypt;
 import java.util.UUID;
-import javax.crypto.SecretKey;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
 
 @GrpcService
 @Singleton
@@ -46,15 +54,39 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
     
     @Inject
     UserRepository userRepository;
+
+    @Inject
+    PolicyEngine policyEngine;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    AuditLog auditLog;
+
+    @Inject
+    ActivityTracker activityTracker;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    LogSampler logSampler;
+
+    // Virtual threads when quarkus.virtual-threads.enabled is set and the JVM supports them,
+    // otherwise the worker pool.
+    @Inject
+    @VirtualThreads
+    ExecutorService blockingExecutor;
     
-    private Keycloak keycloakAdmin;
+    private volatile Keycloak keycloakAdmin;
+    private final ReentrantLock keycloakAdminLock = new ReentrantLock();
     private final String keycloakServerUrl;
     private final String realm;
     private final String clientId;
     private final String clientSecret;
     private final Client httpClient;
     private final ObjectMapper objectMapper;
-    private final SecretKey jwtSecretKey;
 
     public AuthorizationServiceGrpc() {
         this.keycloakServerUrl = System.getenv().getOrDefault("KEYCLOAK_SERVER_URL", "http://keycloak:8080");
@@ -64,15 +96,20 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
         
         this.httpClient = ClientBuilder.newClient();
         this.objectMapper = new ObjectMapper();
-        String secret = System.getenv().getOrDefault("JWT_SECRET", "corporate-banking-secret-key-for-jwt-token-generation-min-32-chars");
-        this.jwtSecretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         
         LOG.infof("Authorization Service initialized with Keycloak at: %s, realm: %s", keycloakServerUrl, realm);
     }
     
+    // Carries the call's gRPC context to the blocking thread, so ServerTiming.current() works there.
+    private Executor callExecutor() {
+        return Context.currentContextExecutor(blockingExecutor);
+    }
+
     private Keycloak getKeycloakAdmin() {
         if (keycloakAdmin == null) {
-            synchronized (this) {
+            // A lock rather than synchronized, so waiting virtual threads do not pin their carriers.
+            keycloakAdminLock.lock();
+            try {
                 if (keycloakAdmin == null) {
                     keycloakAdmin = KeycloakBuilder.builder()
                             .serverUrl(keycloakServerUrl)
@@ -82,6 +119,8 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                             .password("admin")
                             .build();
                 }
+            } finally {
+                keycloakAdminLock.unlock();
             }
         }
         return keycloakAdmin;
@@ -89,33 +128,40 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
 
     @Override
     public Uni<TokenResponse> signup(SignupRequest request) {
+        CallBudget budget = CallBudget.current();
         return Uni.createFrom().item(() -> {
             ManagedContext requestContext = Arc.container().requestContext();
             if (!requestContext.isActive()) {
                 requestContext.activate();
             }
             try {
-                return performSignup(request);
+                return performSignup(request, budget);
             } finally {
                 if (requestContext.isActive()) {
                     requestContext.terminate();
                 }
             }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        }).runSubscriptionOn(callExecutor());
     }
     
     @Transactional
-    TokenResponse performSignup(SignupRequest request) {
+    TokenResponse performSignup(SignupRequest request, CallBudget budget) {
         try {
             LOG.infof("Signing up user with email: %s", request.getEmail());
             
+            budget.check("findByEmail");
             UserEntity existingUser = userRepository.findByEmail(request.getEmail());
             if (existingUser != null) {
-                throw new RuntimeException("User with email already exists: " + request.getEmail());
+                throw Status.ALREADY_EXISTS
+                        .withDescription("User with email already exists: " + request.getEmail())
+                        .asRuntimeException();
             }
             
             String userId = "user-" + UUID.randomUUID().toString();
-            String passwordHash = BCrypt.hashpw(request.getPassword(), BCrypt.gensalt());
+            budget.check("password hashing");
+            String salt = BCrypt.gensalt();
+            String passwordHash = Instrumented.run(registry.timer("auth_password_hash"), "bcrypt",
+                    new PasswordEvent("hash", salt), () -> BCrypt.hashpw(request.getPassword(), salt));
             
             UserEntity userEntity = new UserEntity();
             userEntity.userId = userId;
@@ -126,10 +172,11 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
             userEntity.phoneNumber = request.getPhoneNumber();
             userEntity.role = request.getRole().isEmpty() ? "USER" : request.getRole();
             
-            userRepository.persist(userEntity);
+            budget.check("persist");
+            userRepository.create(userEntity);
             
-            String accessToken = generateJwtToken(userEntity);
-            String refreshToken = generateRefreshToken(userEntity);
+            String accessToken = tokenService.issueAccessToken(userEntity);
+            String refreshToken = tokenService.issueRefreshToken(userEntity);
             
             TokenResponse tokenResponse = TokenResponse.newBuilder()
                     .setAccessToken(accessToken)
@@ -140,46 +187,64 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                     .build();
             
             LOG.infof("User signed up successfully: %s", request.getEmail());
+            auditLog.record(AuditEvent.Type.SIGNUP, true, userId, request.getEmail());
             return tokenResponse;
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() == Status.Code.ALREADY_EXISTS) {
+                LOG.warnf("Signup rejected: %s", e.getStatus().getDescription());
+                auditLog.record(AuditEvent.Type.SIGNUP, false, request.getEmail(), e.getStatus().getDescription());
+            } else {
+                LOG.warnf("Skipping work for abandoned call: %s", e.getStatus().getDescription());
+            }
+            throw e;
         } catch (Exception e) {
             LOG.errorf(e, "Signup failed for user: %s", request.getEmail());
+            auditLog.record(AuditEvent.Type.SIGNUP, false, request.getEmail(), e.getMessage());
             throw new RuntimeException("Signup failed: " + e.getMessage(), e);
         }
     }
 
     @Override
     public Uni<TokenResponse> authenticate(AuthenticateRequest request) {
+        CallBudget budget = CallBudget.current();
         return Uni.createFrom().item(() -> {
             ManagedContext requestContext = Arc.container().requestContext();
             if (!requestContext.isActive()) {
                 requestContext.activate();
             }
             try {
-                return performAuthenticate(request);
+                return performAuthenticate(request, budget);
             } finally {
                 if (requestContext.isActive()) {
                     requestContext.terminate();
                 }
             }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        }).runSubscriptionOn(callExecutor());
     }
     
     @Transactional
-    TokenResponse performAuthenticate(AuthenticateRequest request) {
+    TokenResponse performAuthenticate(AuthenticateRequest request, CallBudget budget) {
         try {
             LOG.infof("Authenticating user: %s", request.getUsername());
             
+            budget.check("findByEmail");
             UserEntity userEntity = userRepository.findByEmail(request.getUsername());
             if (userEntity == null) {
-                throw new RuntimeException("Invalid credentials");
+                throw Status.UNAUTHENTICATED.withDescription("Invalid credentials").asRuntimeException();
             }
             
-            if (userEntity.passwordHash == null || !BCrypt.checkpw(request.getPassword(), userEntity.passwordHash)) {
-                throw new RuntimeException("Invalid credentials");
+            budget.check("password check");
+            if (userEntity.passwordHash == null || !Instrumented.run(registry.timer("auth_password_check"),
+                    "bcrypt", new PasswordEvent("check", userEntity.passwordHash),
+                    () -> BCrypt.checkpw(request.getPassword(), userEntity.passwordHash))) {
+                activityTracker.loginFailed(userEntity.userId,
+                        userEntity.failedLoginAttempts != null ? userEntity.failedLoginAttempts : 0);
+                throw Status.UNAUTHENTICATED.withDescription("Invalid credentials").asRuntimeException();
             }
+            activityTracker.loginSucceeded(userEntity.userId);
             
-            String accessToken = generateJwtToken(userEntity);
-            String refreshToken = generateRefreshToken(userEntity);
+            String accessToken = tokenService.issueAccessToken(userEntity);
+            String refreshToken = tokenService.issueRefreshToken(userEntity);
             
             TokenResponse tokenResponse = TokenResponse.newBuilder()
                     .setAccessToken(accessToken)
@@ -190,81 +255,55 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                     .build();
             
             LOG.infof("User authenticated successfully: %s", request.getUsername());
+            auditLog.record(AuditEvent.Type.LOGIN, true, userEntity.userId, request.getUsername());
             return tokenResponse;
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() == Status.Code.UNAUTHENTICATED) {
+                LOG.warnf("Authentication failed for user %s: %s", request.getUsername(),
+                        e.getStatus().getDescription());
+                auditLog.record(AuditEvent.Type.LOGIN, false, request.getUsername(), e.getStatus().getDescription());
+            } else {
+                LOG.warnf("Skipping work for abandoned call: %s", e.getStatus().getDescription());
+            }
+            throw e;
         } catch (Exception e) {
             LOG.errorf(e, "Authentication failed for user: %s", request.getUsername());
+            auditLog.record(AuditEvent.Type.LOGIN, false, request.getUsername(), e.getMessage());
             throw new RuntimeException("Authentication failed: " + e.getMessage(), e);
         }
     }
     
-    private String generateJwtToken(UserEntity user) {
-        Instant now = Instant.now();
-        Instant expiry = now.plus(1, ChronoUnit.HOURS);
-        
-        return Jwts.builder()
-                .subject(user.userId)
-                .claim("email", user.email)
-                .claim("preferred_username", user.email)
-                .claim("role", user.role != null ? user.role : "USER")
-                .claim("firstName", user.firstName != null ? user.firstName : "")
-                .claim("lastName", user.lastName != null ? user.lastName : "")
-                .issuedAt(java.util.Date.from(now))
-                .expiration(java.util.Date.from(expiry))
-                .signWith(jwtSecretKey)
-                .compact();
-    }
-    
-    private String generateRefreshToken(UserEntity user) {
-        Instant now = Instant.now();
-        Instant expiry = now.plus(7, ChronoUnit.DAYS);
-        
-        return Jwts.builder()
-                .subject(user.userId)
-                .claim("type", "refresh")
-                .issuedAt(java.util.Date.from(now))
-                .expiration(java.util.Date.from(expiry))
-                .signWith(jwtSecretKey)
-                .compact();
-    }
-
     @Override
     public Uni<TokenValidationResponse> validateToken(ValidateTokenRequest request) {
-        return Uni.createFrom().item(() -> {
+        Uni<TokenValidationResponse> validation = Uni.createFrom().item(() -> {
             try {
-                LOG.infof("Validating token");
+                // One decision for both lines, so a sampled call is logged start to end.
+                boolean logged = logSampler.sample("validateToken");
+                if (logged) {
+                    LOG.infof("Validating token");
+                }
                 
                 try {
-                    String token = request.getToken().trim();
-                    
-                    Claims claims = Jwts.parser()
-                            .verifyWith(jwtSecretKey)
-                            .build()
-                            .parseSignedClaims(token)
-                            .getPayload();
-                    
-                    String userId = claims.getSubject();
-                    String email = claims.get("email", String.class);
-                    String username = claims.get("preferred_username", String.class);
-                    String role = claims.get("role", String.class);
-                    long exp = claims.getExpiration().getTime();
-                    
-                    List<String> roles = new ArrayList<>();
-                    if (role != null) {
-                        roles.add(role);
-                    }
+                    TokenClaims claims = tokenService.validateAccessToken(request.getToken().trim());
+                    String username = claims.username();
                     
                     TokenValidationResponse validationResponse = TokenValidationResponse.newBuilder()
                             .setValid(true)
-                            .setUserId(userId)
-                            .setUsername(username != null ? username : email)
-                            .setEmail(email != null ? email : "")
-                            .addAllRoles(roles)
-                            .setExpiresAt(exp)
+                            .setUserId(claims.userId())
+                            .setUsername(username)
+                            .setEmail(claims.email())
+                            .addAllRoles(claims.roles())
+                            .setExpiresAt(claims.expiresAt())
                             .build();
                     
-                    LOG.infof("Token validated successfully for user: %s", username);
+                    if (logged) {
+                        LOG.infof("Token validated successfully for user: %s", username);
+                    }
                     return validationResponse;
                     
+                } catch (StatusRuntimeException e) {
+                    // The token store could not be read; that says nothing about the token.
+                    throw e;
                 } catch (Exception e) {
                     LOG.warnf("Failed to validate JWT token: %s", e.getMessage());
                     return TokenValidationResponse.newBuilder()
@@ -273,6 +312,8 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                             .build();
                 }
                 
+            } catch (StatusRuntimeException e) {
+                throw e;
             } catch (Exception e) {
                 LOG.warnf("Token validation failed: %s", e.getMessage());
                 return TokenValidationResponse.newBuilder()
@@ -281,6 +322,10 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                         .build();
             }
         });
+        // Signed tokens are checked in memory on the event loop; reference tokens need a database lookup.
+        return tokenService.isReference(request.getToken().trim())
+                ? validation.runSubscriptionOn(callExecutor())
+                : validation;
     }
     
     private TokenValidationResponse validateTokenViaIntrospection(String token) {
@@ -351,36 +396,27 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
 
     @Override
     public Uni<TokenResponse> refreshToken(RefreshTokenRequest request) {
+        CallBudget budget = CallBudget.current();
         return Uni.createFrom().item(() -> {
-            return performRefreshToken(request);
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+            return performRefreshToken(request, budget);
+        }).runSubscriptionOn(callExecutor());
     }
     
     @Transactional
-    TokenResponse performRefreshToken(RefreshTokenRequest request) {
+    TokenResponse performRefreshToken(RefreshTokenRequest request, CallBudget budget) {
         try {
             LOG.infof("Refreshing token");
             
-            Claims claims = Jwts.parser()
-                    .verifyWith(jwtSecretKey)
-                    .build()
-                    .parseSignedClaims(request.getRefreshToken())
-                    .getPayload();
-            
-            String userId = claims.getSubject();
-            String tokenType = claims.get("type", String.class);
-            
-            if (!"refresh".equals(tokenType)) {
-                throw new RuntimeException("Invalid refresh token");
-            }
+            String userId = tokenService.validateRefreshToken(request.getRefreshToken());
             
+            budget.check("findByUserId");
             UserEntity userEntity = userRepository.findByUserId(userId);
             if (userEntity == null) {
                 throw new RuntimeException("User not found");
             }
             
-            String accessToken = generateJwtToken(userEntity);
-            String refreshToken = generateRefreshToken(userEntity);
+            String accessToken = tokenService.issueAccessToken(userEntity);
+            String refreshToken = tokenService.issueRefreshToken(userEntity);
             
             TokenResponse tokenResponse = TokenResponse.newBuilder()
                     .setAccessToken(accessToken)
@@ -391,10 +427,15 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                     .build();
             
             LOG.infof("Token refreshed successfully");
+            auditLog.record(AuditEvent.Type.REFRESH, true, userId, null);
             return tokenResponse;
             
+        } catch (StatusRuntimeException e) {
+            LOG.warnf("Skipping work for abandoned call: %s", e.getStatus().getDescription());
+            throw e;
         } catch (Exception e) {
             LOG.errorf(e, "Token refresh failed");
+            auditLog.record(AuditEvent.Type.REFRESH, false, null, e.getMessage());
             throw new RuntimeException("Token refresh failed: " + e.getMessage(), e);
         }
     }
@@ -402,6 +443,7 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
     @Override
     public Uni<UserInfoResponse> getUserInfo(GetUserInfoRequest request) {
         LOG.infof("Getting user info from token");
+        CallBudget budget = CallBudget.current();
         
         return validateToken(ValidateTokenRequest.newBuilder()
                 .setToken(request.getToken())
@@ -414,6 +456,7 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                 }
                 
                 return Uni.createFrom().item(() -> {
+                    budget.check("findByUserId");
                     UserEntity userEntity = userRepository.findByUserId(validation.getUserId());
                     if (userEntity == null) {
                         throw new RuntimeException("User not found");
@@ -432,9 +475,14 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                     
                     LOG.infof("User info retrieved for: %s", userEntity.email);
                     return responseBuilder.build();
-                }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+                }).runSubscriptionOn(callExecutor());
             })
             .onFailure().recoverWithUni(e -> {
+                if (e instanceof StatusRuntimeException) {
+                    LOG.warnf("Skipping work for abandoned call: %s",
+                            ((StatusRuntimeException) e).getStatus().getDescription());
+                    return Uni.createFrom().failure(e);
+                }
                 LOG.errorf(e, "Failed to get user info");
                 return Uni.createFrom().failure(
                     new RuntimeException("Failed to get user info: " + e.getMessage())
@@ -444,29 +492,49 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
 
     @Override
     public Uni<LogoutResponse> logout(LogoutRequest request) {
-        try {
-            LOG.infof("Logging out user");
+        // Revoking a reference token is a database delete.
+        return Uni.createFrom().item(() -> {
+            try {
+                LOG.infof("Logging out user");
             
-            LogoutResponse response = LogoutResponse.newBuilder()
-                    .setSuccess(true)
-                    .setMessage("Logout successful")
-                    .build();
+                String subject = null;
+                if (!request.getToken().isEmpty()) {
+                    String token = request.getToken().trim();
+                    try {
+                        subject = tokenService.validateAccessToken(token).userId();
+                    } catch (Exception e) {
+                        LOG.debugf("Logout with an invalid token: %s", e.getMessage());
+                    }
+                    if (tokenService.revoke(token)) {
+                        LOG.infof("Revoked reference token");
+                    }
+                }
             
-            LOG.infof("User logged out successfully");
-            return Uni.createFrom().item(response);
+                LogoutResponse response = LogoutResponse.newBuilder()
+                        .setSuccess(true)
+                        .setMessage("Logout successful")
+                        .build();
             
-        } catch (Exception e) {
-            LOG.errorf(e, "Logout failed");
-            return Uni.createFrom().item(LogoutResponse.newBuilder()
-                    .setSuccess(false)
-                    .setMessage("Logout failed: " + e.getMessage())
-                    .build());
-        }
+                LOG.infof("User logged out successfully");
+                auditLog.record(AuditEvent.Type.LOGOUT, true, subject, null);
+                return response;
+            
+            } catch (Exception e) {
+                LOG.errorf(e, "Logout failed");
+                return LogoutResponse.newBuilder()
+                        .setSuccess(false)
+                        .setMessage("Logout failed: " + e.getMessage())
+                        .build();
+            }
+        }).runSubscriptionOn(callExecutor());
     }
 
     @Override
     public Uni<PermissionResponse> checkPermission(CheckPermissionRequest request) {
-        LOG.infof("Checking permission for resource: %s, scope: %s", request.getResource(), request.getScope());
+        boolean logged = logSampler.sample("checkPermission");
+        if (logged) {
+            LOG.infof("Checking permission for resource: %s, scope: %s", request.getResource(), request.getScope());
+        }
         
         return validateToken(ValidateTokenRequest.newBuilder()
                 .setToken(request.getToken())
@@ -479,15 +547,17 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                             .build();
                 }
                 
-                boolean hasPermission = validation.getRolesList().stream()
-                        .anyMatch(role -> role.equals("ADMIN") || role.equals("USER"));
+                boolean hasPermission = policyEngine.isGranted(validation.getRolesList(),
+                        request.getResource(), request.getScope());
                 
                 PermissionResponse response = PermissionResponse.newBuilder()
                         .setGranted(hasPermission)
                         .setMessage(hasPermission ? "Permission granted" : "Permission denied")
                         .build();
                 
-                LOG.infof("Permission check result: %s", hasPermission);
+                if (logged) {
+                    LOG.infof("Permission check result: %s", hasPermission);
+                }
                 return response;
             })
             .onFailure().recoverWithUni(e -> {
@@ -498,5 +568,38 @@ public class AuthorizationServiceGrpc implements AuthorizationService {
                         .build());
             });
     }
-}
 
+    @Override
+    public Uni<CheckPermissionsResponse> checkPermissions(CheckPermissionsRequest request) {
+        if (logSampler.sample("checkPermissions")) {
+            LOG.infof("Checking %d permissions", request.getPermissionsCount());
+        }
+        
+        return validateToken(ValidateTokenRequest.newBuilder()
+                .setToken(request.getToken())
+                .build())
+            .map(validation -> {
+                if (!validation.getValid()) {
+                    return CheckPermissionsResponse.newBuilder()
+                            .setValid(false)
+                            .setError("Invalid token")
+                            .build();
+                }
+                
+                PermissionMatrix matrix = policyEngine.matrix();
+                List<String> roles = validation.getRolesList();
+                CheckPermissionsResponse.Builder response = CheckPermissionsResponse.newBuilder().setValid(true);
+                for (PermissionQuery query : request.getPermissionsList()) {
+                    response.addGranted(matrix.isGranted(roles, query.getResource(), query.getScope()));
+                }
+                return response.build();
+            })
+            .onFailure().recoverWithUni(e -> {
+                LOG.errorf(e, "Permission check failed");
+                return Uni.createFrom().item(CheckPermissionsResponse.newBuilder()
+                        .setValid(false)
+                        .setError("Permission check failed: " + e.getMessage())
+                        .build());
+            });
+    }
+}
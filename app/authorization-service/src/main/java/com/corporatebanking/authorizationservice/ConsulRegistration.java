@@ -0,0 +1,94 @@
+package com.corporatebanking.authorizationservice;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Registers this instance's gRPC endpoint in Consul with a gRPC health check, so the gateway
+ * can discover the replicas, and deregisters it on shutdown. Registration waits for warm-up, so
+ * the gateway does not route to a replica that is still cold.
+ */
+@ApplicationScoped
+public class ConsulRegistration {
+
+    private static final Logger LOG = Logger.getLogger(ConsulRegistration.class);
+
+    @ConfigProperty(name = "consul.registration.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "consul.url", defaultValue = "http://consul:8500")
+    String consulUrl;
+
+    @ConfigProperty(name = "consul.registration.address")
+    Optional<String> address;
+
+    @ConfigProperty(name = "quarkus.application.name")
+    String serviceName;
+
+    @ConfigProperty(name = "quarkus.grpc.server.port")
+    int grpcPort;
+
+    @Inject
+    Warmup warmup;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private volatile String serviceId;
+
+    void onStart(@Observes StartupEvent event) {
+        if (enabled) {
+            warmup.whenDone(this::register);
+        }
+    }
+
+    private void register() {
+        try {
+            String host = address.orElse(InetAddress.getLocalHost().getHostAddress());
+            serviceId = serviceName + "-" + host + "-" + grpcPort;
+            String body = String.format(
+                    "{\"ID\":\"%s\",\"Name\":\"%s\",\"Address\":\"%s\",\"Port\":%d,"
+                            + "\"Check\":{\"GRPC\":\"%s:%d\",\"Interval\":\"5s\",\"Timeout\":\"2s\","
+                            + "\"DeregisterCriticalServiceAfter\":\"1m\"}}",
+                    serviceId, serviceName, host, grpcPort, host, grpcPort);
+            put("/v1/agent/service/register", body);
+            LOG.infof("Registered %s in Consul as %s", serviceName, serviceId);
+        } catch (Exception e) {
+            LOG.warnf("Consul registration failed: %s", e.getMessage());
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (serviceId == null) {
+            return;
+        }
+        try {
+            put("/v1/agent/service/deregister/" + serviceId, "");
+            LOG.infof("Deregistered %s from Consul", serviceId);
+        } catch (Exception e) {
+            LOG.warnf("Consul deregistration failed: %s", e.getMessage());
+        }
+    }
+
+    private void put(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(consulUrl + path))
+                .timeout(Duration.ofSeconds(2))
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Consul returned " + response.statusCode() + ": " + response.body());
+        }
+    }
+}
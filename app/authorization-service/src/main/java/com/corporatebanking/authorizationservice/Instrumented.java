@@ -0,0 +1,50 @@
+package com.corporatebanking.authorizationservice;
+
+import com.corporatebanking.authorizationservice.jfr.OperationEvent;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs one expensive step (query, bcrypt, token operation) with all of its instrumentation:
+ * the Micrometer timer, an entry in the call's {@link ServerTiming} when it asked for one, and
+ * the JFR event, which is only filled in and committed when it is being recorded.
+ */
+public final class Instrumented {
+
+    private Instrumented() {
+    }
+
+    public static <T> T run(Timer timer, String timingName, OperationEvent event, Supplier<T> work) {
+        event.begin();
+        long start = System.nanoTime();
+        T result = null;
+        boolean failed = true;
+        try {
+            result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            ServerTiming timing = ServerTiming.current();
+            if (timing != null) {
+                timing.add(timingName, nanos, event.operation);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = failed ? OperationEvent.ERROR : OperationEvent.OK;
+                event.result(result);
+                event.commit();
+            }
+        }
+    }
+
+    public static void run(Timer timer, String timingName, OperationEvent event, Runnable work) {
+        run(timer, timingName, event, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
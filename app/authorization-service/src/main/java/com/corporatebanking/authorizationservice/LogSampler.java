@@ -0,0 +1,32 @@
+package com.corporatebanking.authorizationservice;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 1-in-N sampling for the INFO lines on the busiest paths, so they still show traffic without
+ * formatting and writing a line per request. A {@code logging.sampling.rate} of 1 logs every
+ * line. Only INFO and below are sampled; warnings and errors are always logged.
+ */
+@ApplicationScoped
+public class LogSampler {
+
+    @ConfigProperty(name = "logging.sampling.rate", defaultValue = "100")
+    int rate;
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @return whether this occurrence of {@code key} should be logged; the first one always is
+     */
+    public boolean sample(String key) {
+        if (rate <= 1) {
+            return true;
+        }
+        return counters.computeIfAbsent(key, k -> new AtomicLong()).getAndIncrement() % rate == 0;
+    }
+}
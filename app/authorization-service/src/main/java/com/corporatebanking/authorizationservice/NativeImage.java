@@ -0,0 +1,44 @@
+package com.corporatebanking.authorizationservice;
+
+import com.corporatebanking.authorizationservice.jfr.JfrStatistics;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.keycloak.representations.AccessTokenResponse;
+import org.keycloak.representations.idm.CredentialRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+
+/**
+ * Reflection registrations for the native build ({@code -Pnative}) that no extension makes.
+ * jjwt-api instantiates its builders and algorithm registries from jjwt-impl by class name, and
+ * the Keycloak admin client binds its representations with Jackson; its resource proxies are
+ * listed in {@code native/proxy-config.json}. jbcrypt is plain Java and needs nothing, and
+ * quarkus-jdbc-oracle configures the Oracle driver itself.
+ */
+@RegisterForReflection(
+        targets = {
+                JfrStatistics.Row.class,
+                AccessTokenResponse.class,
+                UserRepresentation.class,
+                CredentialRepresentation.class,
+                RoleRepresentation.class
+        },
+        classNames = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        })
+public final class NativeImage {
+
+    private NativeImage() {
+    }
+}
@@ -0,0 +1,35 @@
+package com.corporatebanking.authorizationservice;
+
+import io.grpc.Context;
+
+/**
+ * Durations of the expensive steps (queries, bcrypt, token signing) of the gRPC call being
+ * served, returned to the gateway in the {@code server-timing} trailer when it asked for them.
+ * Looked up through the gRPC context, which the blocking executors carry over to the worker.
+ */
+public final class ServerTiming {
+
+    static final Context.Key<ServerTiming> KEY = Context.key("server-timing");
+
+    private final StringBuilder entries = new StringBuilder(128);
+
+    /**
+     * @return the timings of the current call, or null when it did not ask for them
+     */
+    public static ServerTiming current() {
+        return KEY.get();
+    }
+
+    public synchronized void add(String name, long nanos, String description) {
+        if (!entries.isEmpty()) {
+            entries.append(", ");
+        }
+        entries.append(name)
+                .append(";dur=").append(nanos / 1_000_000).append('.').append(nanos / 100_000 % 10)
+                .append(";desc=\"").append(description).append('"');
+    }
+
+    synchronized String header() {
+        return entries.toString();
+    }
+}
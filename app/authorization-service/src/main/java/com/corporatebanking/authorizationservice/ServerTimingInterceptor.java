@@ -0,0 +1,40 @@
+package com.corporatebanking.authorizationservice;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.quarkus.grpc.GlobalInterceptor;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Collects a {@link ServerTiming} for calls that carry the {@code server-timing} header and
+ * returns it in the trailer of the same name.
+ */
+@GlobalInterceptor
+@ApplicationScoped
+public class ServerTimingInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> METADATA = Metadata.Key.of("server-timing", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (!headers.containsKey(METADATA)) {
+            return next.startCall(call, headers);
+        }
+        ServerTiming timing = new ServerTiming();
+        ServerCall<ReqT, RespT> reporting = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                trailers.put(METADATA, timing.header());
+                super.close(status, trailers);
+            }
+        };
+        return Contexts.interceptCall(Context.current().withValue(ServerTiming.KEY, timing), reporting, headers, next);
+    }
+}
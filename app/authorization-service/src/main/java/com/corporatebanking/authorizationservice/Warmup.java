@@ -0,0 +1,199 @@
+package com.corporatebanking.authorizationservice;
+
+import com.corporatebanking.authorizationservice.entity.UserEntity;
+import com.corporatebanking.authorizationservice.grpc.CheckPermissionsRequest;
+import com.corporatebanking.authorizationservice.grpc.PermissionQuery;
+import com.corporatebanking.authorizationservice.grpc.ValidateTokenRequest;
+import com.corporatebanking.authorizationservice.repository.UserRepository;
+import com.corporatebanking.authorizationservice.token.TokenService;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.grpc.GrpcService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import org.jboss.logging.Logger;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the hot paths once after startup - database connections and queries, bcrypt, token
+ * signing and verification, and the ValidateToken and CheckPermissions handlers - so the first
+ * real calls don't pay for connection setup, class loading and interpreted code. Readiness on
+ * {@code /q/health/ready} stays DOWN, and the Consul registration waits, until it has finished
+ * or {@code warmup.timeout} has passed.
+ */
+@Readiness
+@ApplicationScoped
+public class Warmup implements HealthCheck {
+
+    private static final Logger LOG = Logger.getLogger(Warmup.class);
+
+    private static final String PASSWORD = "warmup-password";
+    private static final int PASSWORD_ROUNDS = 3;
+
+    @ConfigProperty(name = "warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "warmup.iterations", defaultValue = "200")
+    int iterations;
+
+    @ConfigProperty(name = "warmup.connections", defaultValue = "5")
+    int connections;
+
+    @ConfigProperty(name = "warmup.timeout", defaultValue = "PT2M")
+    Duration timeout;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    @GrpcService
+    AuthorizationServiceGrpc authorizationService;
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private volatile String step = "pending";
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            step = "disabled";
+            done.complete(null);
+            return;
+        }
+        done.completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        Thread thread = new Thread(this::run, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("warmup").status(done.isDone()).withData("step", step).build();
+    }
+
+    /**
+     * Runs the action once warm-up has finished or timed out.
+     */
+    public void whenDone(Runnable action) {
+        done.thenRunAsync(action);
+    }
+
+    private void run() {
+        long started = System.nanoTime();
+        step("connections", this::openConnections);
+        step("queries", this::runQueries);
+        step("bcrypt", this::hashPasswords);
+        step("handlers", this::callHandlers);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        if (done.complete(null)) {
+            step = "done";
+            LOG.infof("Warm-up finished in %d ms", elapsedMs);
+        } else {
+            LOG.warnf("Warm-up did not finish within %s and was reported ready at step %s", timeout, step);
+        }
+    }
+
+    private void step(String name, Step work) {
+        if (done.isDone()) {
+            return;
+        }
+        step = name;
+        long started = System.nanoTime();
+        try {
+            work.run();
+            LOG.infof("Warm-up step %s took %d ms", name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            LOG.warnf("Warm-up step %s failed: %s", name, e.getMessage());
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    // Holding them all at once makes the pool open that many physical connections; closing
+    // returns them to the pool, where quarkus.datasource.jdbc.min-size keeps them.
+    private void openConnections() throws Exception {
+        List<Connection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                opened.add(connection);
+                if (!connection.isValid(2)) {
+                    throw new IllegalStateException("Connection " + i + " is not valid");
+                }
+            }
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (Exception ignored) {
+                    // Already broken; the pool discards it.
+                }
+            }
+        }
+    }
+
+    // Lookups of an email that doesn't exist run the same statement as a login, without
+    // touching any account.
+    private void runQueries() {
+        String email = "warmup-" + UUID.randomUUID() + "@localhost";
+        for (int i = 0; i < iterations; i++) {
+            QuarkusTransaction.requiringNew().run(() -> userRepository.findByEmail(email));
+        }
+    }
+
+    private void hashPasswords() {
+        for (int i = 0; i < PASSWORD_ROUNDS; i++) {
+            String hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt());
+            if (!BCrypt.checkpw(PASSWORD, hash)) {
+                throw new IllegalStateException("bcrypt check failed");
+            }
+        }
+    }
+
+    // A user that only exists in memory; its tokens are revoked (reference mode) or expire
+    // (signed modes) and never leave this process.
+    private void callHandlers() {
+        UserEntity user = new UserEntity();
+        user.userId = "warmup-" + UUID.randomUUID();
+        user.email = user.userId + "@localhost";
+        user.firstName = "Warm";
+        user.lastName = "Up";
+        user.role = "USER";
+
+        CheckPermissionsRequest.Builder permissions = CheckPermissionsRequest.newBuilder()
+                .addPermissions(PermissionQuery.newBuilder().setResource("users").setScope("read").build())
+                .addPermissions(PermissionQuery.newBuilder().setResource("payments").setScope("create").build());
+        for (int i = 0; i < iterations; i++) {
+            String accessToken = tokenService.issueAccessToken(user);
+            tokenService.validateRefreshToken(tokenService.issueRefreshToken(user));
+            if (!authorizationService.validateToken(ValidateTokenRequest.newBuilder().setToken(accessToken).build())
+                    .await().indefinitely().getValid()) {
+                throw new IllegalStateException("Warm-up token was rejected");
+            }
+            authorizationService.checkPermissions(permissions.setToken(accessToken).build())
+                    .await().indefinitely();
+            tokenService.revoke(accessToken);
+        }
+    }
+}
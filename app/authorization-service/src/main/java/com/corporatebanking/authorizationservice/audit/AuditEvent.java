@@ -0,0 +1,10 @@
+package com.corporatebanking.authorizationservice.audit;
+
+/**
+ * One audited authentication event. {@code subject} is the user id or, before the user is
+ * known, the login name.
+ */
+public record AuditEvent(long timestamp, Type type, boolean success, String subject, String detail) {
+
+    public enum Type { SIGNUP, LOGIN, REFRESH, LOGOUT }
+}
@@ -0,0 +1,207 @@
+package com.corporatebanking.authorizationservice.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of authentication events. {@link #record} only enqueues into a lock-free ring
+ * buffer; a background writer inserts the events into {@code auth_audit_log} in JDBC batches
+ * once {@code audit.batch-size} events are waiting or {@code audit.flush-interval} has passed.
+ * When the writer falls behind and the buffer fills up, new events are dropped and counted
+ * rather than slowing down authentication. A batch that fails to insert is retried once before
+ * its events are counted as failed.
+ */
+@ApplicationScoped
+public class AuditLog {
+
+    private static final Logger LOG = Logger.getLogger(AuditLog.class);
+
+    private static final String INSERT =
+            "INSERT INTO auth_audit_log (event_time, event_type, success, subject, detail) VALUES (?, ?, ?, ?, ?)";
+    private static final int DETAIL_LENGTH = 500;
+    // A batch is tried twice, so one dropped pooled connection or failover does not lose it.
+    private static final int WRITE_ATTEMPTS = 2;
+    private static final Duration RETRY_DELAY = Duration.ofMillis(100);
+
+    @ConfigProperty(name = "audit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "audit.buffer-size", defaultValue = "8192")
+    int bufferSize;
+
+    @ConfigProperty(name = "audit.batch-size", defaultValue = "200")
+    int batchSize;
+
+    @ConfigProperty(name = "audit.flush-interval", defaultValue = "1s")
+    Duration flushInterval;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private AuditRingBuffer buffer;
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        buffer = new AuditRingBuffer(bufferSize);
+        FunctionCounter.builder("audit_events_recorded", recorded, AtomicLong::get).register(registry);
+        FunctionCounter.builder("audit_events_dropped", dropped, AtomicLong::get).register(registry);
+        FunctionCounter.builder("audit_events_written", written, AtomicLong::get).register(registry);
+        FunctionCounter.builder("audit_events_failed", failed, AtomicLong::get).register(registry);
+        registry.gauge("audit_buffer_size", buffer, AuditRingBuffer::size);
+
+        running = true;
+        Thread thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(flushInterval.toMillis() * 5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.size() > 0) {
+            LOG.warnf("Shutting down with %d audit events unwritten", buffer.size());
+        }
+    }
+
+    public void record(AuditEvent.Type type, boolean success, String subject, String detail) {
+        if (buffer == null) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(System.currentTimeMillis(), type, success, subject, detail);
+        if (!buffer.offer(event)) {
+            if (dropped.incrementAndGet() % 1000 == 1) {
+                LOG.warnf("Audit buffer full, %d events dropped so far", dropped.get());
+            }
+            return;
+        }
+        recorded.incrementAndGet();
+        if (buffer.size() >= batchSize) {
+            Thread thread = writer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long flushNanos = flushInterval.toNanos();
+        long lastFlush = System.nanoTime();
+        while (running || buffer.size() > 0) {
+            AuditEvent event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+                batch.add(event);
+            }
+            long sinceFlush = System.nanoTime() - lastFlush;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (sinceFlush >= flushNanos || !running))) {
+                write(batch);
+                batch.clear();
+                lastFlush = System.nanoTime();
+                continue;
+            }
+            if (!running) {
+                break;
+            }
+            LockSupport.parkNanos(this, Math.max(1_000_000L, flushNanos - sinceFlush));
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    void write(List<AuditEvent> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                written.addAndGet(batch.size());
+                return;
+            } catch (SQLException e) {
+                if (attempt < WRITE_ATTEMPTS) {
+                    // A failed batch is rolled back as a whole, so retrying it cannot duplicate rows.
+                    LOG.warnf("Retrying %d audit events after a failed write: %s", batch.size(), e.getMessage());
+                    LockSupport.parkNanos(this, RETRY_DELAY.toNanos());
+                    continue;
+                }
+                failed.addAndGet(batch.size());
+                LOG.errorf("Failed to write %d audit events: %s", batch.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void insert(List<AuditEvent> batch) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            connection.setAutoCommit(false);
+            for (AuditEvent event : batch) {
+                statement.setTimestamp(1, new Timestamp(event.timestamp()));
+                statement.setString(2, event.type().name());
+                statement.setInt(3, event.success() ? 1 : 0);
+                statement.setString(4, truncate(event.subject(), 255));
+                statement.setString(5, truncate(event.detail(), DETAIL_LENGTH));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+            registry.timer("db_query", "query", "auditInsert")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    long written() {
+        return written.get();
+    }
+
+    long failed() {
+        return failed.get();
+    }
+
+    private static String truncate(String value, int length) {
+        if (value == null) {
+            return null;
+        }
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+}
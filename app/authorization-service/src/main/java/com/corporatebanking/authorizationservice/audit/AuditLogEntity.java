@@ -0,0 +1,37 @@
+package com.corporatebanking.authorizationservice.audit;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mapping of {@code auth_audit_log}, so Hibernate validates the table created by the
+ * db-migrations scripts (and creates it for the embedded load-test database). Rows are only
+ * written by {@link AuditLog} through JDBC.
+ */
+@Entity
+@Table(name = "auth_audit_log", indexes = {
+        @Index(name = "idx_auth_audit_subject_time", columnList = "subject, event_time")
+})
+public class AuditLogEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    public Long id;
+
+    @Column(name = "event_time", nullable = false, columnDefinition = "TIMESTAMP")
+    public LocalDateTime eventTime;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    public String eventType;
+
+    @Column(name = "success", nullable = false)
+    public boolean success;
+
+    @Column(name = "subject", length = 255)
+    public String subject;
+
+    @Column(name = "detail", length = 500)
+    public String detail;
+}
@@ -34,6 +34,12 @@ public class UserEntity extends PanacheEntityBase {
     @Column(name = "role", length = 50)
     public String role;
 
+    @Column(name = "last_login_at", columnDefinition = "TIMESTAMP")
+    public LocalDateTime lastLoginAt;
+
+    @Column(name = "failed_login_attempts")
+    public Integer failedLoginAttempts;
+
     @Column(name = "created_at", columnDefinition = "TIMESTAMP")
     public LocalDateTime createdAt;
 
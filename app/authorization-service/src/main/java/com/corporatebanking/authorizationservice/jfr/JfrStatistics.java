@@ -0,0 +1,114 @@
+package com.corporatebanking.authorizationservice.jfr;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consumes this service's own JFR events in process and keeps rolling statistics per event type
+ * and operation over {@code jfr.statistics.window}, served on {@code /admin/jfr}. The stream
+ * only holds events until they are consumed; a continuous recording started with
+ * {@code -XX:StartFlightRecording} keeps its own copy independently.
+ */
+@ApplicationScoped
+public class JfrStatistics {
+
+    private static final Logger LOG = Logger.getLogger(JfrStatistics.class);
+
+    private static final int BUCKETS = 12;
+    private static final List<Class<? extends OperationEvent>> EVENTS =
+            List.of(RpcEvent.class, PasswordEvent.class, TokenEvent.class, QueryEvent.class);
+
+    @ConfigProperty(name = "jfr.statistics.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "jfr.statistics.window", defaultValue = "PT1M")
+    Duration window;
+
+    private final Map<Key, RollingStats> stats = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        stream = new RecordingStream();
+        for (Class<? extends OperationEvent> type : EVENTS) {
+            String name = EventType.getEventType(type).getName();
+            stream.enable(name).withoutStackTrace();
+            stream.onEvent(name, this::onEvent);
+        }
+        // Events arrive in batches about once a second; nothing needs to be kept longer.
+        stream.setMaxAge(Duration.ofSeconds(10));
+        stream.startAsync();
+        LOG.infof("Aggregating JFR events over %s", window);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onEvent(RecordedEvent event) {
+        String outcome = event.getString("outcome");
+        boolean failed = !OperationEvent.OK.equals(outcome);
+        Key key = new Key(event.getEventType().getLabel(), event.getString("operation"));
+        stats.computeIfAbsent(key, k -> new RollingStats(window.toMillis(), BUCKETS))
+                .add(System.currentTimeMillis(), event.getDuration().toNanos(), failed, payload(event));
+    }
+
+    public List<Row> snapshot() {
+        long now = System.currentTimeMillis();
+        List<Row> rows = new ArrayList<>(stats.size());
+        stats.forEach((key, rolling) -> {
+            Row row = rolling.snapshot(key.event(), key.operation(), now);
+            if (row != null) {
+                rows.add(row);
+            }
+        });
+        rows.sort(Comparator.comparing(Row::event).thenComparing(Row::operation));
+        return rows;
+    }
+
+    public boolean enabled() {
+        return stream != null;
+    }
+
+    private static long payload(RecordedEvent event) {
+        if (event.hasField("responseBytes")) {
+            return event.getLong("requestBytes") + event.getLong("responseBytes");
+        }
+        if (event.hasField("tokenBytes")) {
+            return event.getLong("tokenBytes");
+        }
+        if (event.hasField("rows")) {
+            return event.getInt("rows");
+        }
+        return 0;
+    }
+
+    private record Key(String event, String operation) {
+    }
+
+    /**
+     * Statistics of one operation over the window. Payload is bytes for gRPC calls and tokens,
+     * rows for queries.
+     */
+    public record Row(String event, String operation, long count, long errors, double perSecond,
+                      double meanMillis, double maxMillis, double meanPayload) {
+    }
+}
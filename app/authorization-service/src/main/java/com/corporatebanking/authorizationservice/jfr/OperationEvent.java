@@ -0,0 +1,33 @@
+package com.corporatebanking.authorizationservice.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of this service's JFR events. Stack traces are off so the events are cheap
+ * enough to leave enabled in a continuous recording.
+ */
+@StackTrace(false)
+public abstract class OperationEvent extends Event {
+
+    public static final String OK = "OK";
+    public static final String ERROR = "ERROR";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome;
+
+    protected OperationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Fills the payload fields from the result of the work. Only called when the event is
+     * committed, and with null when the work failed.
+     */
+    public void result(Object result) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.corporatebanking.authorizationservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("corporatebanking.Password")
+@Label("Password Hash")
+@Category({"Corporate Banking", "Security"})
+public class PasswordEvent extends OperationEvent {
+
+    @Label("Cost")
+    public int cost;
+
+    @Label("Matched")
+    @Description("Whether a checked password matched; always false for hashing")
+    public boolean matched;
+
+    /**
+     * @param hash the stored hash for a check, or the salt for a new hash
+     */
+    public PasswordEvent(String operation, String hash) {
+        super(operation);
+        this.cost = cost(hash);
+    }
+
+    @Override
+    public void result(Object result) {
+        if (result instanceof Boolean match) {
+            matched = match;
+        }
+    }
+
+    // bcrypt hashes and salts start with $2a$NN$, NN being the log2 cost.
+    private static int cost(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(3) != '$') {
+            return 0;
+        }
+        return (hash.charAt(4) - '0') * 10 + (hash.charAt(5) - '0');
+    }
+}
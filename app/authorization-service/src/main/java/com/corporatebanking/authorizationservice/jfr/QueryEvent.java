@@ -0,0 +1,29 @@
+package com.corporatebanking.authorizationservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Collection;
+
+@Name("corporatebanking.Query")
+@Label("Database Query")
+@Category({"Corporate Banking", "Database"})
+public class QueryEvent extends OperationEvent {
+
+    @Label("Rows")
+    public int rows;
+
+    public QueryEvent(String query) {
+        super(query);
+    }
+
+    @Override
+    public void result(Object result) {
+        if (result instanceof Collection<?> list) {
+            rows = list.size();
+        } else {
+            rows = result != null ? 1 : 0;
+        }
+    }
+}
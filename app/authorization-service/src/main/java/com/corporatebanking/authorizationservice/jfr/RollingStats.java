@@ -0,0 +1,79 @@
+package com.corporatebanking.authorizationservice.jfr;
+
+/**
+ * Count, errors, duration and payload of one operation over a rolling window, kept in a ring of
+ * fixed-length buckets so old samples age out without being stored individually.
+ */
+final class RollingStats {
+
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+
+    RollingStats(long windowMillis, int bucketCount) {
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    synchronized void add(long nowMillis, long durationNanos, boolean failed, long payload) {
+        long index = nowMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (index % buckets.length)];
+        if (bucket.index != index) {
+            bucket.reset(index);
+        }
+        bucket.count++;
+        if (failed) {
+            bucket.errors++;
+        }
+        bucket.totalNanos += durationNanos;
+        bucket.maxNanos = Math.max(bucket.maxNanos, durationNanos);
+        bucket.payload += payload;
+    }
+
+    /**
+     * @return the totals over the buckets still inside the window, or null when there are none
+     */
+    synchronized JfrStatistics.Row snapshot(String event, String operation, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        long count = 0;
+        long errors = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+        long payload = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.index > current - buckets.length) {
+                count += bucket.count;
+                errors += bucket.errors;
+                totalNanos += bucket.totalNanos;
+                maxNanos = Math.max(maxNanos, bucket.maxNanos);
+                payload += bucket.payload;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        double windowSeconds = bucketMillis * buckets.length / 1000.0;
+        return new JfrStatistics.Row(event, operation, count, errors, count / windowSeconds,
+                totalNanos / count / 1_000_000.0, maxNanos / 1_000_000.0, (double) payload / count);
+    }
+
+    private static final class Bucket {
+        long index = Long.MIN_VALUE;
+        long count;
+        long errors;
+        long totalNanos;
+        long maxNanos;
+        long payload;
+
+        void reset(long newIndex) {
+            index = newIndex;
+            count = 0;
+            errors = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+            payload = 0;
+        }
+    }
+}
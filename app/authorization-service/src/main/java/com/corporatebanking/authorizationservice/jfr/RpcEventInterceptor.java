@@ -0,0 +1,58 @@
+package com.corporatebanking.authorizationservice.jfr;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.quarkus.grpc.GlobalInterceptor;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Records an {@link RpcEvent} per served call, from the start of the call until its status is
+ * sent. Message sizes are only computed while the event is enabled.
+ */
+@GlobalInterceptor
+@ApplicationScoped
+public class RpcEventInterceptor implements ServerInterceptor {
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        RpcEvent event = new RpcEvent(call.getMethodDescriptor().getFullMethodName());
+        if (!event.isEnabled()) {
+            return next.startCall(call, headers);
+        }
+        event.begin();
+        ServerCall<ReqT, RespT> recording = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                event.responseBytes += size(message);
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                event.outcome = status.getCode().name();
+                event.commit();
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<ReqT> listener = next.startCall(recording, headers);
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                event.requestBytes += size(message);
+                super.onMessage(message);
+            }
+        };
+    }
+
+    // Protobuf memoizes the size, and serialization needs it anyway.
+    private static long size(Object message) {
+        return message instanceof MessageLite protobuf ? protobuf.getSerializedSize() : 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.corporatebanking.authorizationservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("corporatebanking.Token")
+@Label("Token Operation")
+@Category({"Corporate Banking", "Security"})
+public class TokenEvent extends OperationEvent {
+
+    @Label("Token Size")
+    @DataAmount
+    public long tokenBytes;
+
+    /**
+     * @param token the token being verified, or null when one is being issued
+     */
+    public TokenEvent(String operation, String token) {
+        super(operation);
+        this.tokenBytes = token != null ? token.length() : 0;
+    }
+
+    @Override
+    public void result(Object result) {
+        if (result instanceof String token && tokenBytes == 0) {
+            tokenBytes = token.length();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.corporatebanking.authorizationservice.policy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable role to (resource, scope) grants, compiled into bitsets per role. Resources and
+ * scopes are numbered at compile time, so a check is two map lookups and a few bit tests per
+ * role.
+ *
+ * <p>The source is a properties file with one role per key and a comma separated list of
+ * {@code resource:scope} grants, where either side may be {@code *}:
+ * <pre>
+ * ADMIN=*:*
+ * USER=profile:read,profile:update,accounts:read
+ * </pre>
+ */
+public final class PermissionMatrix {
+
+    private static final String WILDCARD = "*";
+
+    private final Map<String, Integer> resources;
+    private final Map<String, Integer> scopes;
+    private final Map<String, RoleGrants> grants;
+
+    private PermissionMatrix(Map<String, Integer> resources, Map<String, Integer> scopes, Map<String, RoleGrants> grants) {
+        this.resources = resources;
+        this.scopes = scopes;
+        this.grants = grants;
+    }
+
+    public static PermissionMatrix compile(Properties source) {
+        Map<String, List<String[]>> parsed = new LinkedHashMap<>();
+        Map<String, Integer> resources = new HashMap<>();
+        Map<String, Integer> scopes = new HashMap<>();
+
+        for (String role : source.stringPropertyNames()) {
+            List<String[]> entries = new ArrayList<>();
+            for (String grant : source.getProperty(role).split(",")) {
+                String trimmed = grant.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int colon = trimmed.indexOf(':');
+                if (colon <= 0 || colon == trimmed.length() - 1) {
+                    throw new IllegalArgumentException("Invalid grant '" + trimmed + "' for role " + role
+                            + ", expected resource:scope");
+                }
+                String resource = trimmed.substring(0, colon).trim();
+                String scope = trimmed.substring(colon + 1).trim();
+                if (!WILDCARD.equals(resource)) {
+                    resources.putIfAbsent(resource, resources.size());
+                }
+                if (!WILDCARD.equals(scope)) {
+                    scopes.putIfAbsent(scope, scopes.size());
+                }
+                entries.add(new String[]{resource, scope});
+            }
+            parsed.put(role.trim(), entries);
+        }
+
+        int scopeCount = scopes.size();
+        Map<String, RoleGrants> grants = new HashMap<>();
+        parsed.forEach((role, entries) -> {
+            RoleGrants compiled = new RoleGrants(resources.size() * scopeCount, resources.size(), scopeCount);
+            for (String[] entry : entries) {
+                boolean anyResource = WILDCARD.equals(entry[0]);
+                boolean anyScope = WILDCARD.equals(entry[1]);
+                if (anyResource && anyScope) {
+                    compiled.all = true;
+                } else if (anyScope) {
+                    compiled.allScopesOf.set(resources.get(entry[0]));
+                } else if (anyResource) {
+                    compiled.allResourcesFor.set(scopes.get(entry[1]));
+                } else {
+                    compiled.exact.set(resources.get(entry[0]) * scopeCount + scopes.get(entry[1]));
+                }
+            }
+            grants.put(role, compiled);
+        });
+        return new PermissionMatrix(Map.copyOf(resources), Map.copyOf(scopes), Map.copyOf(grants));
+    }
+
+    public boolean isGranted(Collection<String> roles, String resource, String scope) {
+        int r = resources.getOrDefault(resource, -1);
+        int s = scopes.getOrDefault(scope, -1);
+        for (String role : roles) {
+            RoleGrants roleGrants = grants.get(role);
+            if (roleGrants != null && roleGrants.grants(r, s, scopes.size())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int roleCount() {
+        return grants.size();
+    }
+
+    public int permissionCount() {
+        return resources.size() * scopes.size();
+    }
+
+    private static final class RoleGrants {
+
+        final BitSet exact;
+        final BitSet allScopesOf;
+        final BitSet allResourcesFor;
+        boolean all;
+
+        RoleGrants(int permissions, int resourceCount, int scopeCount) {
+            this.exact = new BitSet(permissions);
+            this.allScopesOf = new BitSet(resourceCount);
+            this.allResourcesFor = new BitSet(scopeCount);
+        }
+
+        boolean grants(int resource, int scope, int scopeCount) {
+            if (all) {
+                return true;
+            }
+            if (resource >= 0 && allScopesOf.get(resource)) {
+                return true;
+            }
+            if (scope >= 0 && allResourcesFor.get(scope)) {
+                return true;
+            }
+            return resource >= 0 && scope >= 0 && exact.get(resource * scopeCount + scope);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.corporatebanking.authorizationservice.policy;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers permission checks from the compiled {@link PermissionMatrix}. The policy comes from
+ * {@code authorization.policy.file} when set, otherwise from the bundled {@code policy.properties};
+ * an external file is polled for changes and recompiled, keeping the previous matrix if the new
+ * one does not parse.
+ */
+@ApplicationScoped
+public class PolicyEngine {
+
+    private static final Logger LOG = Logger.getLogger(PolicyEngine.class);
+
+    private static final String BUNDLED_POLICY = "policy.properties";
+
+    @ConfigProperty(name = "authorization.policy.file")
+    Optional<String> policyFile;
+
+    @ConfigProperty(name = "authorization.policy.reload-interval", defaultValue = "5s")
+    Duration reloadInterval;
+
+    private volatile PermissionMatrix matrix;
+    private FileTime loadedVersion;
+    private ScheduledExecutorService watcher;
+
+    @PostConstruct
+    void init() {
+        if (policyFile.isEmpty()) {
+            matrix = loadBundled();
+            return;
+        }
+        Path path = Path.of(policyFile.get());
+        reload(path);
+        if (matrix == null) {
+            throw new IllegalStateException("Could not load permission policy from " + path);
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "policy-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = reloadInterval.toMillis();
+        watcher.scheduleWithFixedDelay(() -> reload(path), interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    public boolean isGranted(Collection<String> roles, String resource, String scope) {
+        return matrix.isGranted(roles, resource, scope);
+    }
+
+    /**
+     * The matrix in effect, for evaluating several checks against the same policy version.
+     */
+    public PermissionMatrix matrix() {
+        return matrix;
+    }
+
+    void reload(Path path) {
+        try {
+            FileTime version = Files.getLastModifiedTime(path);
+            if (version.equals(loadedVersion)) {
+                return;
+            }
+            Properties source = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                source.load(reader);
+            }
+            PermissionMatrix compiled = PermissionMatrix.compile(source);
+            matrix = compiled;
+            loadedVersion = version;
+            LOG.infof("Loaded permission policy from %s: %d roles, %d permissions",
+                    path, compiled.roleCount(), compiled.permissionCount());
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.errorf("Could not reload permission policy from %s, keeping the current one: %s", path, e.getMessage());
+        }
+    }
+
+    private static PermissionMatrix loadBundled() {
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(BUNDLED_POLICY)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + BUNDLED_POLICY);
+            }
+            Properties source = new Properties();
+            source.load(in);
+            PermissionMatrix compiled = PermissionMatrix.compile(source);
+            LOG.infof("Loaded bundled permission policy: %d roles, %d permissions",
+                    compiled.roleCount(), compiled.permissionCount());
+            return compiled;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + BUNDLED_POLICY, e);
+        }
+    }
+}
@@ -1,22 +1,65 @@
 package com.corporatebanking.authorizationservice.repository;
 
+import com.corporatebanking.authorizationservice.Instrumented;
 import com.corporatebanking.authorizationservice.entity.UserEntity;
+import com.corporatebanking.authorizationservice.jfr.QueryEvent;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.exception.ConstraintViolationException;
 
+import java.util.Locale;
+
+/**
+ * User lookups and inserts, each timed as {@code db_query} by query name, reported in the call's
+ * {@code ServerTiming} and recorded as a {@link QueryEvent}.
+ */
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<UserEntity> {
 
+    @Inject
+    MeterRegistry registry;
+
     public UserEntity findByEmail(String email) {
-        return find("email", email).firstResult();
+        return Instrumented.run(registry.timer("db_query", "query", "findByEmail"), "auth-db",
+                new QueryEvent("findByEmail"), () -> find("lower(email) = lower(?1)", email).firstResult());
     }
 
     public UserEntity findByUserId(String userId) {
-        return find("userId", userId).firstResult();
+        return Instrumented.run(registry.timer("db_query", "query", "findByUserId"), "auth-db",
+                new QueryEvent("findByUserId"), () -> find("userId", userId).firstResult());
     }
-}
-
-
-
 
+    /**
+     * Persists and flushes a new user, so the insert is timed here rather than at commit. A
+     * concurrent signup that registered the same email, in any case, first fails with
+     * {@code ALREADY_EXISTS}.
+     */
+    public void create(UserEntity user) {
+        try {
+            Instrumented.run(registry.timer("db_query", "query", "create"), "auth-db",
+                    new QueryEvent("create"), () -> persistAndFlush(user));
+        } catch (RuntimeException e) {
+            if (isDuplicateEmail(e)) {
+                throw Status.ALREADY_EXISTS
+                        .withDescription("User with email already exists: " + user.email)
+                        .withCause(e)
+                        .asRuntimeException();
+            }
+            throw e;
+        }
+    }
 
+    // Both uk_users_email and the case-insensitive idx_users_email_lower name the column.
+    private static boolean isDuplicateEmail(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraint = ((ConstraintViolationException) cause).getConstraintName();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains("email");
+            }
+        }
+        return false;
+    }
+}
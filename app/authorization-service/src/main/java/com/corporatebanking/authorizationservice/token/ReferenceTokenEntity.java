@@ -0,0 +1,35 @@
+package com.corporatebanking.authorizationservice.token;
+
+import jakarta.persistence.*;
+
+/**
+ * Mapping of {@code reference_tokens}, so Hibernate validates the table created by the
+ * db-migrations scripts (and creates it for the embedded load-test database). Rows are only
+ * read and written by {@link TokenStore} through JDBC.
+ */
+@Entity
+@Table(name = "reference_tokens", indexes = {
+        @Index(name = "idx_reference_tokens_expires", columnList = "expires_at")
+})
+public class ReferenceTokenEntity {
+
+    @Id
+    @Column(name = "id", length = 32)
+    public String id;
+
+    @Column(name = "user_id", nullable = false, length = 100)
+    public String userId;
+
+    @Column(name = "username", length = 255)
+    public String username;
+
+    @Column(name = "email", length = 255)
+    public String email;
+
+    @Column(name = "roles", length = 255)
+    public String roles;
+
+    // Epoch milliseconds, compared as numbers so the database time zone does not matter.
+    @Column(name = "expires_at", nullable = false)
+    public long expiresAt;
+}
@@ -0,0 +1,38 @@
+package com.corporatebanking.authorizationservice.token;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes roles as bits of an int, in the order given by {@code auth.token.roles}. New roles
+ * must be appended so that bits of tokens already issued keep their meaning.
+ */
+public final class RoleMask {
+
+    private final List<String> roles;
+
+    public RoleMask(List<String> roles) {
+        if (roles.size() > Integer.SIZE) {
+            throw new IllegalArgumentException("At most " + Integer.SIZE + " roles fit in a role mask");
+        }
+        this.roles = List.copyOf(roles);
+    }
+
+    /**
+     * @return the role's bit, or 0 for a role without one
+     */
+    public int bit(String role) {
+        int index = roles.indexOf(role);
+        return index < 0 ? 0 : 1 << index;
+    }
+
+    public List<String> decode(int mask) {
+        List<String> decoded = new ArrayList<>(Integer.bitCount(mask));
+        for (int i = 0; i < roles.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                decoded.add(roles.get(i));
+            }
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,10 @@
+package com.corporatebanking.authorizationservice.token;
+
+import java.util.List;
+
+/**
+ * What a validated access token says about its holder. Compact tokens carry no username or
+ * email; for those the username is the subject and the email is empty.
+ */
+public record TokenClaims(String userId, String username, String email, List<String> roles, long expiresAt) {
+}
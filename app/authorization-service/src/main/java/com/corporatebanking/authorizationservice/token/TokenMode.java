@@ -0,0 +1,21 @@
+package com.corporatebanking.authorizationservice.token;
+
+import java.util.Locale;
+
+/**
+ * Format of issued access tokens. Validation accepts every format, so the mode can be changed
+ * while earlier tokens are still in use; see {@link TokenService#isReference} for when a token
+ * is looked up as a reference.
+ */
+public enum TokenMode {
+    /** Signed JWT with email, username, role and names. */
+    FULL,
+    /** Signed JWT with only subject, role bitmask, jti and expiry; validates without email or username. */
+    COMPACT,
+    /** Opaque random id resolved through the shared {@link TokenStore}. */
+    REFERENCE;
+
+    public static TokenMode parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
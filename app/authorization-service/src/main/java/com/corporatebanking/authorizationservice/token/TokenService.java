@@ -0,0 +1,215 @@
+package com.corporatebanking.authorizationservice.token;
+
+import com.corporatebanking.authorizationservice.Instrumented;
+import com.corporatebanking.authorizationservice.entity.UserEntity;
+import com.corporatebanking.authorizationservice.jfr.TokenEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and validates access and refresh tokens. Access tokens are issued in the configured
+ * {@link TokenMode}; refresh tokens are always signed JWTs. Issuing and validating are timed as
+ * {@code auth_token_sign} and {@code auth_token_verify} by token type and recorded as
+ * {@link TokenEvent}s.
+ */
+@ApplicationScoped
+public class TokenService {
+
+    private static final Logger LOG = Logger.getLogger(TokenService.class);
+
+    public static final Duration ACCESS_TOKEN_TTL = Duration.ofHours(1);
+    public static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(7);
+
+    static final String ROLE_MASK_CLAIM = "rm";
+
+    @ConfigProperty(name = "auth.token.mode", defaultValue = "full")
+    String modeName;
+
+    @ConfigProperty(name = "auth.token.roles", defaultValue = "USER,ADMIN")
+    List<String> roleNames;
+
+    @ConfigProperty(name = "jwt.secret")
+    String secret;
+
+    @Inject
+    TokenStore tokenStore;
+
+    @Inject
+    MeterRegistry registry;
+
+    private TokenMode mode;
+    private RoleMask roleMask;
+    private SecretKey key;
+    private JwtParser parser;
+    private Timer signAccess;
+    private Timer signRefresh;
+    private Timer verifyAccess;
+    private Timer verifyRefresh;
+
+    @PostConstruct
+    void init() {
+        mode = TokenMode.parse(modeName);
+        roleMask = new RoleMask(roleNames);
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        String modeTag = mode.name().toLowerCase();
+        signAccess = registry.timer("auth_token_sign", "token", "access", "mode", modeTag);
+        signRefresh = registry.timer("auth_token_sign", "token", "refresh", "mode", "full");
+        verifyAccess = registry.timer("auth_token_verify", "token", "access");
+        verifyRefresh = registry.timer("auth_token_verify", "token", "refresh");
+        LOG.infof("Issuing %s access tokens", mode);
+    }
+
+    public String issueAccessToken(UserEntity user) {
+        return Instrumented.run(signAccess, "jwt", new TokenEvent("sign-access", null), () -> accessToken(user));
+    }
+
+    private String accessToken(UserEntity user) {
+        Instant now = Instant.now();
+        Instant expiry = now.plus(ACCESS_TOKEN_TTL);
+        String role = user.role != null ? user.role : "USER";
+
+        switch (mode) {
+            case REFERENCE:
+                return tokenStore.issue(new TokenClaims(user.userId, user.email, user.email, List.of(role),
+                        expiry.toEpochMilli()));
+            case COMPACT: {
+                int mask = roleMask.bit(role);
+                JwtBuilder builder = Jwts.builder()
+                        .subject(user.userId)
+                        .claim(ROLE_MASK_CLAIM, mask)
+                        .id(UUID.randomUUID().toString())
+                        .expiration(Date.from(expiry));
+                if (mask == 0) {
+                    builder.claim("role", role);
+                }
+                return builder.signWith(key).compact();
+            }
+            default:
+                return Jwts.builder()
+                        .subject(user.userId)
+                        .claim("email", user.email)
+                        .claim("preferred_username", user.email)
+                        .claim("role", role)
+                        .claim("firstName", user.firstName != null ? user.firstName : "")
+                        .claim("lastName", user.lastName != null ? user.lastName : "")
+                        .issuedAt(Date.from(now))
+                        .expiration(Date.from(expiry))
+                        .signWith(key)
+                        .compact();
+        }
+    }
+
+    public String issueRefreshToken(UserEntity user) {
+        return Instrumented.run(signRefresh, "jwt", new TokenEvent("sign-refresh", null), () -> refreshToken(user));
+    }
+
+    private String refreshToken(UserEntity user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(user.userId)
+                .claim("type", "refresh")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(REFRESH_TOKEN_TTL)))
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * Accepts access tokens of every mode: reference ids are looked up in the store, anything
+     * shaped like a JWT is verified and read.
+     *
+     * @throws JwtException when the token is invalid, unknown or expired
+     */
+    public TokenClaims validateAccessToken(String token) {
+        return Instrumented.run(verifyAccess, "jwt", new TokenEvent("verify-access", token), () -> accessClaims(token));
+    }
+
+    private TokenClaims accessClaims(String token) {
+        if (isReference(token)) {
+            TokenClaims claims = tokenStore.resolve(token);
+            if (claims == null) {
+                throw new JwtException("Unknown or expired reference token");
+            }
+            return claims;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String userId = claims.getSubject();
+        String email = claims.get("email", String.class);
+        String username = claims.get("preferred_username", String.class);
+
+        List<String> roles = new ArrayList<>(1);
+        Integer mask = claims.get(ROLE_MASK_CLAIM, Integer.class);
+        if (mask != null) {
+            roles.addAll(roleMask.decode(mask));
+        }
+        String role = claims.get("role", String.class);
+        if (role != null) {
+            roles.add(role);
+        }
+
+        return new TokenClaims(userId,
+                username != null ? username : (email != null ? email : userId),
+                email != null ? email : "",
+                roles,
+                claims.getExpiration().getTime());
+    }
+
+    /**
+     * @return the user id of a valid refresh token
+     * @throws JwtException when the token is invalid or not a refresh token
+     */
+    public String validateRefreshToken(String token) {
+        return Instrumented.run(verifyRefresh, "jwt", new TokenEvent("verify-refresh", token),
+                () -> refreshSubject(token));
+    }
+
+    private String refreshSubject(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (!"refresh".equals(claims.get("type", String.class))) {
+            throw new JwtException("Invalid refresh token");
+        }
+        return claims.getSubject();
+    }
+
+    /**
+     * Revokes a reference token; signed tokens stay valid until they expire.
+     */
+    public boolean revoke(String token) {
+        return isReference(token) && tokenStore.revoke(token);
+    }
+
+    /**
+     * Whether validating or revoking the token is a database call: it is shaped like a reference
+     * id, and reference tokens are issued here or ones issued earlier have not expired. Any other
+     * token is checked as a JWT, so malformed ones are rejected without touching the database.
+     */
+    public boolean isReference(String token) {
+        return TokenStore.isId(token) && (mode == TokenMode.REFERENCE || tokenStore.hasLiveTokens());
+    }
+
+    public TokenMode mode() {
+        return mode;
+    }
+}
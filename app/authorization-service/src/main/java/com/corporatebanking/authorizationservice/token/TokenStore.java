@@ -0,0 +1,196 @@
+package com.corporatebanking.authorizationservice.token;
+
+import com.corporatebanking.authorizationservice.Instrumented;
+import com.corporatebanking.authorizationservice.jfr.QueryEvent;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store behind reference tokens: maps short random ids to their claims in the shared
+ * {@code reference_tokens} table until they expire or are revoked, so any replica can validate
+ * or revoke a token another one issued. Each call is a single primary-key statement, timed as
+ * {@code db_query} and recorded as a {@link QueryEvent}. A database failure surfaces as
+ * {@code UNAVAILABLE} rather than as an invalid token.
+ *
+ * <p>The sweeper also tracks the latest expiry in the table, so replicas no longer issuing
+ * reference tokens know whether any can still be valid and otherwise skip the lookup.
+ */
+@ApplicationScoped
+public class TokenStore {
+
+    private static final Logger LOG = Logger.getLogger(TokenStore.class);
+
+    private static final int ID_BYTES = 16;
+    // Unpadded base64url of ID_BYTES.
+    private static final int ID_LENGTH = (ID_BYTES * 4 + 2) / 3;
+
+    private static final String INSERT = "INSERT INTO reference_tokens"
+            + " (id, user_id, username, email, roles, expires_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT = "SELECT user_id, username, email, roles, expires_at"
+            + " FROM reference_tokens WHERE id = ? AND expires_at > ?";
+    private static final String DELETE = "DELETE FROM reference_tokens WHERE id = ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM reference_tokens WHERE expires_at <= ?";
+    private static final String SELECT_LATEST_EXPIRY = "SELECT MAX(expires_at) FROM reference_tokens";
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private ScheduledExecutorService sweeper;
+    private volatile long latestExpiry;
+
+    @PostConstruct
+    void init() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-store-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, 0, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    public String issue(TokenClaims claims) {
+        byte[] bytes = new byte[ID_BYTES];
+        random.nextBytes(bytes);
+        String id = encoder.encodeToString(bytes);
+        query("tokenInsert", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setString(1, id);
+                statement.setString(2, claims.userId());
+                statement.setString(3, claims.username());
+                statement.setString(4, claims.email());
+                statement.setString(5, String.join(",", claims.roles()));
+                statement.setLong(6, claims.expiresAt());
+                statement.executeUpdate();
+                return null;
+            }
+        });
+        if (claims.expiresAt() > latestExpiry) {
+            latestExpiry = claims.expiresAt();
+        }
+        return id;
+    }
+
+    /**
+     * Whether a token has the shape of an id this store issues; anything else cannot be in it.
+     */
+    public static boolean isId(String token) {
+        if (token.length() != ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            boolean base64Url = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_';
+            if (!base64Url) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether some reference token, issued here or by another replica, may still be valid. Known
+     * from the last sweep, so a token issued elsewhere within the last minute may be missed.
+     */
+    public boolean hasLiveTokens() {
+        return latestExpiry > System.currentTimeMillis();
+    }
+
+    /**
+     * @return the claims, or null when the id is unknown, revoked or expired
+     */
+    public TokenClaims resolve(String id) {
+        return query("tokenResolve", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+                statement.setString(1, id);
+                statement.setLong(2, System.currentTimeMillis());
+                try (ResultSet rows = statement.executeQuery()) {
+                    if (!rows.next()) {
+                        return null;
+                    }
+                    String roles = rows.getString(4);
+                    return new TokenClaims(rows.getString(1), rows.getString(2), rows.getString(3),
+                            roles == null || roles.isEmpty() ? List.of() : Arrays.asList(roles.split(",")),
+                            rows.getLong(5));
+                }
+            }
+        });
+    }
+
+    public boolean revoke(String id) {
+        return query("tokenRevoke", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+                statement.setString(1, id);
+                return statement.executeUpdate() > 0;
+            }
+        });
+    }
+
+    void sweep() {
+        try {
+            int removed = query("tokenSweep", connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(DELETE_EXPIRED)) {
+                    statement.setLong(1, System.currentTimeMillis());
+                    return statement.executeUpdate();
+                }
+            });
+            if (removed > 0) {
+                LOG.debugf("Removed %d expired reference tokens", removed);
+            }
+            latestExpiry = query("tokenLatestExpiry", connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_LATEST_EXPIRY);
+                     ResultSet rows = statement.executeQuery()) {
+                    return rows.next() ? rows.getLong(1) : 0L;
+                }
+            });
+        } catch (RuntimeException e) {
+            LOG.warnf("Failed to remove expired reference tokens: %s", e.getMessage());
+        }
+    }
+
+    private <T> T query(String name, Statement<T> statement) {
+        return Instrumented.run(registry.timer("db_query", "query", name), "auth-db", new QueryEvent(name), () -> {
+            try (Connection connection = dataSource.getConnection()) {
+                return statement.run(connection);
+            } catch (SQLException e) {
+                throw Status.UNAVAILABLE
+                        .withDescription("Token store unavailable: " + e.getMessage())
+                        .withCause(e)
+                        .asRuntimeException();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Statement<T> {
+        T run(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,123 @@
+package com.corporatebanking.authorizationservice.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuditLogTest {
+
+    private static final List<AuditEvent> BATCH = List.of(
+            new AuditEvent(1L, AuditEvent.Type.LOGIN, true, "user-1", null),
+            new AuditEvent(2L, AuditEvent.Type.LOGOUT, true, "user-1", null));
+
+    @Test
+    void writesBatch() {
+        FakeDatabase database = new FakeDatabase(0);
+        AuditLog log = auditLog(database);
+
+        log.write(BATCH);
+
+        assertEquals(1, database.connections.get());
+        assertEquals(1, database.commits.get());
+        assertEquals(2, log.written());
+        assertEquals(0, log.failed());
+    }
+
+    @Test
+    void retriesFailedBatchOnce() {
+        FakeDatabase database = new FakeDatabase(1);
+        AuditLog log = auditLog(database);
+
+        log.write(BATCH);
+
+        assertEquals(2, database.connections.get());
+        assertEquals(1, database.commits.get());
+        assertEquals(2, log.written());
+        assertEquals(0, log.failed());
+    }
+
+    @Test
+    void countsBatchAsFailedWhenRetryFails() {
+        FakeDatabase database = new FakeDatabase(Integer.MAX_VALUE);
+        AuditLog log = auditLog(database);
+
+        log.write(BATCH);
+
+        assertEquals(2, database.connections.get());
+        assertEquals(0, database.commits.get());
+        assertEquals(0, log.written());
+        assertEquals(2, log.failed());
+    }
+
+    private static AuditLog auditLog(FakeDatabase database) {
+        AuditLog log = new AuditLog();
+        log.dataSource = database.dataSource();
+        log.registry = new SimpleMeterRegistry();
+        return log;
+    }
+
+    /**
+     * Data source whose first {@code failures} connections fail on commit, the way a dropped
+     * connection does.
+     */
+    private static final class FakeDatabase {
+
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger commits = new AtomicInteger();
+        private final int failures;
+
+        FakeDatabase(int failures) {
+            this.failures = failures;
+        }
+
+        DataSource dataSource() {
+            return proxy(DataSource.class, (method, args) -> {
+                if (method.equals("getConnection")) {
+                    return connection(connections.incrementAndGet() <= failures);
+                }
+                throw new UnsupportedOperationException(method);
+            });
+        }
+
+        private Connection connection(boolean broken) {
+            return proxy(Connection.class, (method, args) -> {
+                switch (method) {
+                    case "prepareStatement":
+                        return statement();
+                    case "commit":
+                        if (broken) {
+                            throw new SQLException("Connection reset");
+                        }
+                        commits.incrementAndGet();
+                        return null;
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        private PreparedStatement statement() {
+            return proxy(PreparedStatement.class, (method, args) ->
+                    method.equals("executeBatch") ? new int[BATCH.size()] : null);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String method, Object[] args) throws SQLException;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(AuditLogTest.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method.getName(), args)));
+    }
+}
@@ -0,0 +1,120 @@
+package com.corporatebanking.authorizationservice.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer(5).capacity());
+        assertEquals(8, new AuditRingBuffer(8).capacity());
+        assertEquals(16, new AuditRingBuffer(9).capacity());
+    }
+
+    @Test
+    void refusesOfferWhenFull() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event(0, i)));
+        }
+        assertFalse(buffer.offer(event(0, 4)));
+        assertEquals(4, buffer.size());
+
+        assertEquals(0, buffer.poll().timestamp());
+        assertTrue(buffer.offer(event(0, 5)), "a polled slot is free again");
+        assertFalse(buffer.offer(event(0, 6)));
+    }
+
+    @Test
+    void pollsInOrderAcrossWrapAround() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        assertNull(buffer.poll());
+        long next = 0;
+        long expected = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(event(0, next++)));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected++, buffer.poll().timestamp());
+            }
+            assertNull(buffer.poll());
+        }
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void pollReturnsTheOfferedEvent() {
+        AuditRingBuffer buffer = new AuditRingBuffer(2);
+        AuditEvent event = event(0, 1);
+        buffer.offer(event);
+        assertSame(event, buffer.poll());
+    }
+
+    @Test
+    @Timeout(30)
+    void deliversEveryEventFromConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        // Far smaller than the total, so the buffer wraps over a thousand times and producers find it full.
+        AuditRingBuffer buffer = new AuditRingBuffer(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    AuditEvent event = event(producer, i);
+                    while (!buffer.offer(event)) {
+                        Thread.yield();
+                    }
+                }
+            }, "producer-" + p);
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] nextPerProducer = new long[producers];
+        int received = 0;
+        start.countDown();
+        while (received < producers * perProducer) {
+            AuditEvent event = buffer.poll();
+            if (event == null) {
+                Thread.yield();
+                continue;
+            }
+            int producer = Integer.parseInt(event.subject());
+            assertEquals(nextPerProducer[producer]++, event.timestamp(), "order of producer " + producer);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+        for (long next : nextPerProducer) {
+            assertEquals(perProducer, next);
+        }
+    }
+
+    private static AuditEvent event(int producer, long sequence) {
+        return new AuditEvent(sequence, AuditEvent.Type.LOGIN, true, Integer.toString(producer), null);
+    }
+}
@@ -0,0 +1,86 @@
+package com.corporatebanking.authorizationservice.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionMatrixTest {
+
+    private final PermissionMatrix matrix = matrix(
+            "ADMIN", "*:*",
+            "OPERATOR", "accounts:*",
+            "AUDITOR", "*:read",
+            "USER", "profile:read, profile:update,,users:read");
+
+    @Test
+    void fullWildcardGrantsEverything() {
+        assertTrue(matrix.isGranted(List.of("ADMIN"), "users", "delete"));
+        assertTrue(matrix.isGranted(List.of("ADMIN"), "unknown", "unknown"));
+    }
+
+    @Test
+    void scopeWildcardGrantsEveryScopeOfItsResource() {
+        assertTrue(matrix.isGranted(List.of("OPERATOR"), "accounts", "read"));
+        assertTrue(matrix.isGranted(List.of("OPERATOR"), "accounts", "close"));
+        assertFalse(matrix.isGranted(List.of("OPERATOR"), "users", "read"));
+    }
+
+    @Test
+    void resourceWildcardGrantsItsScopeOnEveryResource() {
+        assertTrue(matrix.isGranted(List.of("AUDITOR"), "users", "read"));
+        assertTrue(matrix.isGranted(List.of("AUDITOR"), "payments", "read"));
+        assertFalse(matrix.isGranted(List.of("AUDITOR"), "users", "update"));
+        assertFalse(matrix.isGranted(List.of("AUDITOR"), "users", "approve"));
+    }
+
+    @Test
+    void exactGrantsCoverOnlyTheirPair() {
+        assertTrue(matrix.isGranted(List.of("USER"), "profile", "read"));
+        assertTrue(matrix.isGranted(List.of("USER"), "profile", "update"));
+        assertTrue(matrix.isGranted(List.of("USER"), "users", "read"));
+        assertFalse(matrix.isGranted(List.of("USER"), "profile", "delete"));
+        assertFalse(matrix.isGranted(List.of("USER"), "users", "update"));
+    }
+
+    @Test
+    void unknownRolesResourcesAndScopesAreDenied() {
+        assertFalse(matrix.isGranted(List.of("GUEST"), "profile", "read"));
+        assertFalse(matrix.isGranted(List.of(), "profile", "read"));
+        assertFalse(matrix.isGranted(List.of("USER"), "unknown", "read"));
+        assertFalse(matrix.isGranted(List.of("USER"), "profile", "unknown"));
+    }
+
+    @Test
+    void anyRoleMayGrant() {
+        assertTrue(matrix.isGranted(List.of("GUEST", "USER"), "profile", "read"));
+        assertTrue(matrix.isGranted(List.of("USER", "OPERATOR"), "accounts", "close"));
+    }
+
+    @Test
+    void countsRolesAndPermissions() {
+        assertEquals(4, matrix.roleCount());
+        // Resources accounts, users, profile by scopes read, update.
+        assertEquals(6, matrix.permissionCount());
+    }
+
+    @Test
+    void rejectsInvalidGrants() {
+        for (String grant : new String[]{"profile", ":read", "profile:", "profile:read,users"}) {
+            assertThrows(IllegalArgumentException.class, () -> matrix("USER", grant), grant);
+        }
+    }
+
+    static PermissionMatrix matrix(String... roleAndGrants) {
+        Properties source = new Properties();
+        for (int i = 0; i < roleAndGrants.length; i += 2) {
+            source.setProperty(roleAndGrants[i], roleAndGrants[i + 1]);
+        }
+        return PermissionMatrix.compile(source);
+    }
+}
@@ -0,0 +1,102 @@
+package com.corporatebanking.authorizationservice.policy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyEngineTest {
+
+    private static final List<String> USER = List.of("USER");
+
+    @TempDir
+    Path directory;
+
+    private PolicyEngine engine;
+    private long modified = 1_700_000_000_000L;
+
+    @AfterEach
+    void shutdown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void loadsBundledPolicyWithoutFile() {
+        engine = engine(Optional.empty());
+
+        assertTrue(engine.isGranted(List.of("ADMIN"), "users", "delete"));
+        assertTrue(engine.isGranted(USER, "users", "read"));
+        assertFalse(engine.isGranted(USER, "users", "delete"));
+    }
+
+    @Test
+    void reloadsChangedFile() throws IOException {
+        Path policy = write("USER=profile:read");
+        engine = engine(Optional.of(policy.toString()));
+        assertFalse(engine.isGranted(USER, "users", "read"));
+
+        write("USER=profile:read,users:read");
+        engine.reload(policy);
+
+        assertTrue(engine.isGranted(USER, "users", "read"));
+    }
+
+    @Test
+    void keepsCurrentMatrixWhenReloadFails() throws IOException {
+        Path policy = write("USER=profile:read");
+        engine = engine(Optional.of(policy.toString()));
+        PermissionMatrix loaded = engine.matrix();
+
+        write("USER=profile:read,users");
+        engine.reload(policy);
+
+        assertSame(loaded, engine.matrix());
+        assertTrue(engine.isGranted(USER, "profile", "read"));
+
+        write("USER=users:read");
+        engine.reload(policy);
+
+        assertTrue(engine.isGranted(USER, "users", "read"), "a corrected file is picked up");
+        assertFalse(engine.isGranted(USER, "profile", "read"));
+    }
+
+    @Test
+    void refusesToStartWithInvalidFile() throws IOException {
+        Path policy = write("USER=profile");
+        assertThrows(IllegalStateException.class, () -> engine(Optional.of(policy.toString())));
+    }
+
+    private PolicyEngine engine(Optional<String> policyFile) {
+        PolicyEngine engine = new PolicyEngine();
+        engine.policyFile = policyFile;
+        // Reloads are driven by the tests.
+        engine.reloadInterval = Duration.ofHours(1);
+        engine.init();
+        return engine;
+    }
+
+    /**
+     * Writes the policy file with a new modification time, as reload skips a file it already loaded.
+     */
+    private Path write(String content) throws IOException {
+        Path policy = directory.resolve("policy.properties");
+        Files.writeString(policy, content);
+        modified += 1000;
+        Files.setLastModifiedTime(policy, FileTime.fromMillis(modified));
+        return policy;
+    }
+}
@@ -0,0 +1,56 @@
+package com.corporatebanking.authorizationservice.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTest {
+
+    private static final String ID = "AAECAwQFBgcICQoLDA0ODw";
+
+    @Test
+    void looksUpIdsInReferenceMode() {
+        TokenService service = tokenService("reference", false);
+
+        assertTrue(service.isReference(ID));
+        assertFalse(service.isReference(ID + "A"), "longer than an id");
+        assertFalse(service.isReference(ID.substring(1)), "shorter than an id");
+        assertFalse(service.isReference("AAECAwQFBgcICQoLDA0OD/"), "not base64url");
+        assertFalse(service.isReference("header.payload.signature"));
+    }
+
+    @Test
+    void skipsLookupOutsideReferenceModeOnceNoTokenIsLive() {
+        assertFalse(tokenService("full", false).isReference(ID));
+        assertFalse(tokenService("compact", false).isReference(ID));
+        assertFalse(tokenService("full", false).isReference("garbage"));
+    }
+
+    @Test
+    void looksUpIdsOutsideReferenceModeWhileTokensAreLive() {
+        TokenService service = tokenService("full", true);
+
+        assertTrue(service.isReference(ID));
+        assertFalse(service.isReference("garbage"));
+    }
+
+    private static TokenService tokenService(String mode, boolean liveTokens) {
+        TokenService service = new TokenService();
+        service.modeName = mode;
+        service.roleNames = List.of("USER", "ADMIN");
+        service.secret = "0123456789abcdef0123456789abcdef";
+        service.registry = new SimpleMeterRegistry();
+        service.tokenStore = new TokenStore() {
+            @Override
+            public boolean hasLiveTokens() {
+                return liveTokens;
+            }
+        };
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,22 @@
+#!/bin/bash
+
+# Runs the JMH suites and writes the results as JSON to results/<timestamp>-<commit>.json,
+# so runs can be compared across commits. Extra arguments go to JMH, e.g. a suite filter:
+#   ./run-benchmarks.sh TokenServiceBenchmark
+
+set -e
+
+cd "$(dirname "$0")"
+
+if [ ! -f target/benchmarks.jar ]; then
+    echo "target/benchmarks.jar not found; build it first (see README.md)"
+    exit 1
+fi
+
+mkdir -p results
+COMMIT=$(git rev-parse --short HEAD 2>/dev/null || echo "local")
+OUTPUT="results/$(date +%Y%m%d-%H%M%S)-${COMMIT}.json"
+
+java -jar target/benchmarks.jar -rf json -rff "$OUTPUT" "$@"
+
+echo "Results written to $OUTPUT"
@@ -0,0 +1,141 @@
+package com.corporatebanking.authorizationservice.token;
+
+import com.corporatebanking.authorizationservice.entity.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and validation as done for login, refresh and every authenticated gateway
+ * request, in each access token mode. The encoded size of each token, which ends up in every
+ * Authorization header, is reported alongside the issue benchmarks. Reference tokens are stored in an in-memory H2
+ * database, so their numbers leave out the network round trip to the real one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    @Param({"full", "compact", "reference"})
+    String mode;
+
+    private Connection keepAlive;
+    private TokenService tokenService;
+    private UserEntity user;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:tokens");
+        // The in-memory database lives as long as one connection is open.
+        keepAlive = dataSource.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE reference_tokens (id VARCHAR(32) PRIMARY KEY,"
+                    + " user_id VARCHAR(100) NOT NULL, username VARCHAR(255), email VARCHAR(255),"
+                    + " roles VARCHAR(255), expires_at BIGINT NOT NULL)");
+        }
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TokenStore tokenStore = new TokenStore();
+        tokenStore.dataSource = dataSource;
+        tokenStore.registry = registry;
+        tokenStore.init();
+
+        tokenService = new TokenService();
+        tokenService.modeName = mode;
+        tokenService.roleNames = List.of("USER", "ADMIN");
+        tokenService.secret = SECRET;
+        tokenService.tokenStore = tokenStore;
+        tokenService.registry = registry;
+        tokenService.init();
+
+        user = new UserEntity();
+        user.userId = "user-3f0b3c9e-8c1d-4f57-9a55-1b2f0f7c0d11";
+        user.email = "jane.doe@example.com";
+        user.firstName = "Jane";
+        user.lastName = "Doe";
+        user.role = "USER";
+
+        accessToken = tokenService.issueAccessToken(user);
+        refreshToken = tokenService.issueRefreshToken(user);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        tokenService.tokenStore.shutdown();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public String issueAccessToken(TokenSizes sizes) {
+        return tokenService.issueAccessToken(user);
+    }
+
+    @Benchmark
+    public String issueRefreshToken(TokenSizes sizes) {
+        return tokenService.issueRefreshToken(user);
+    }
+
+    @Benchmark
+    public TokenClaims validateAccessToken() {
+        return tokenService.validateAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public String validateRefreshToken() {
+        return tokenService.validateRefreshToken(refreshToken);
+    }
+
+    /**
+     * Encoded token sizes as secondary results, so they land in the JSON report. JMH zeroes the
+     * counters before each iteration and sums them over measurement iterations and threads, so
+     * one thread fills them in at the end of the first measurement iteration only.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TokenSizes {
+
+        public long accessTokenBytes;
+        public long refreshTokenBytes;
+
+        private boolean reported;
+
+        @TearDown(Level.Iteration)
+        public void report(TokenServiceBenchmark benchmark, IterationParams iteration, ThreadParams thread) {
+            if (!reported && iteration.getType() == IterationType.MEASUREMENT && thread.getThreadIndex() == 0) {
+                accessTokenBytes = benchmark.accessToken.length();
+                refreshTokenBytes = benchmark.refreshToken.length();
+                reported = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.corporatebanking.gateway;
+
+import com.corporatebanking.authorizationservice.grpc.TokenValidationResponse;
+import io.grpc.stub.AbstractStub;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.UriInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link SecurityFilter#filter} for a public path, a request without a token and an
+ * authenticated request. The authorization service is stubbed to answer immediately, so this
+ * measures the gateway's own per-request overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    @Param({"public", "missing-token", "authenticated"})
+    String request;
+
+    private SecurityFilter filter;
+    private ContainerRequestContext requestContext;
+
+    @Setup
+    public void setUp() {
+        TokenValidationResponse validation = TokenValidationResponse.newBuilder()
+                .setValid(true)
+                .setUserId("user-3f0b3c9e-8c1d-4f57-9a55-1b2f0f7c0d11")
+                .setUsername("jane.doe@example.com")
+                .addRoles("USER")
+                .setExpiresAt(System.currentTimeMillis() + 3_600_000L)
+                .build();
+
+        filter = new SecurityFilter();
+        filter.grpcCalls = new StubGrpcCalls(validation);
+        filter.requestDeadline = new RequestDeadline();
+        filter.principal = new AuthenticatedPrincipal();
+
+        switch (request) {
+            case "public":
+                requestContext = requestContext("/api/v1/auth/login", null);
+                break;
+            case "missing-token":
+                requestContext = requestContext("/api/v1/users", null);
+                break;
+            default:
+                requestContext = requestContext("/api/v1/users", "Bearer eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ1c2VyIn0.sig");
+        }
+    }
+
+    @Benchmark
+    public ContainerRequestContext filter() {
+        filter.filter(requestContext);
+        return requestContext;
+    }
+
+    private static ContainerRequestContext requestContext(String path, String authorization) {
+        UriInfo uriInfo = (UriInfo) Proxy.newProxyInstance(UriInfo.class.getClassLoader(),
+                new Class<?>[]{UriInfo.class},
+                (proxy, method, args) -> "getPath".equals(method.getName()) ? path : null);
+        return (ContainerRequestContext) Proxy.newProxyInstance(ContainerRequestContext.class.getClassLoader(),
+                new Class<?>[]{ContainerRequestContext.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getUriInfo":
+                            return uriInfo;
+                        case "getHeaderString":
+                            return HttpHeaders.AUTHORIZATION.equals(args[0]) ? authorization : null;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * Answers every call with a fixed validation result instead of going to a backend.
+     */
+    private static final class StubGrpcCalls extends GrpcCalls {
+
+        private final Object response;
+
+        StubGrpcCalls(TokenValidationResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <S extends AbstractStub<S>, T> T call(Route route, Backend<S> backend, Function<S, Uni<T>> rpc) {
+            return (T) response;
+        }
+    }
+}
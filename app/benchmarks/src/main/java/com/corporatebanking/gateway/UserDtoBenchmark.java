@@ -0,0 +1,72 @@
+package com.corporatebanking.gateway;
+
+import com.corporatebanking.userservice.grpc.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway side of a user response: gRPC message to DTO with {@code UserGatewayResource.toDTO},
+ * then JSON. {@code users} is 1 for get/create/update and a page size for list and search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDtoBenchmark {
+
+    @Param({"1", "10", "50"})
+    int users;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserGatewayResource resource;
+    private List<UserResponse> responses;
+
+    @Setup
+    public void setUp() {
+        resource = new UserGatewayResource();
+        responses = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            responses.add(UserResponse.newBuilder()
+                    .setUserId("user-3f0b3c9e-8c1d-4f57-9a55-1b2f0f7c" + String.format("%04d", i))
+                    .setEmail("jane.doe" + i + "@example.com")
+                    .setFirstName("Jane")
+                    .setLastName("Doe")
+                    .setPhoneNumber("+44 20 7946 0958")
+                    .setRole("USER")
+                    .setCreatedAt("2024-01-15T09:30:12")
+                    .setUpdatedAt("2024-03-02T17:04:55")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<UserGatewayResource.UserResponseDTO> toDTO() {
+        List<UserGatewayResource.UserResponseDTO> dtos = new ArrayList<>(users);
+        for (UserResponse response : responses) {
+            dtos.add(resource.toDTO(response));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public byte[] toDTOAndSerialize() throws Exception {
+        Object body = users == 1 ? resource.toDTO(responses.get(0)) : toDTO();
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
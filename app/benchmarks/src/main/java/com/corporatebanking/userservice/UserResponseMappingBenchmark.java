@@ -0,0 +1,62 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.grpc.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to gRPC message mapping done by {@code UserServiceGrpc.toUserResponse} for every user
+ * returned, plus the protobuf encoding that follows it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserResponseMappingBenchmark {
+
+    private UserEntity entity;
+    private UserResponse response;
+
+    @Setup
+    public void setUp() {
+        entity = new UserEntity();
+        entity.userId = "user-3f0b3c9e-8c1d-4f57-9a55-1b2f0f7c0d11";
+        entity.email = "jane.doe@example.com";
+        entity.firstName = "Jane";
+        entity.lastName = "Doe";
+        entity.phoneNumber = "+44 20 7946 0958";
+        entity.role = "USER";
+        entity.createdAt = LocalDateTime.of(2024, 1, 15, 9, 30, 12);
+        entity.updatedAt = LocalDateTime.of(2024, 3, 2, 17, 4, 55);
+        response = UserResponses.of(entity);
+    }
+
+    @Benchmark
+    public UserResponse toUserResponse() {
+        return UserResponses.of(entity);
+    }
+
+    @Benchmark
+    public byte[] toUserResponseEncoded() {
+        return UserResponses.of(entity).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return response.toByteArray();
+    }
+}
@@ -1,15 +1,20 @@
 package com.corporatebanking.gateway;
 
 import com.corporatebanking.authorizationservice.grpc.*;
-import io.quarkus.grpc.GrpcClient;
+import io.vertx.core.http.HttpServerRequest;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@RunOnVirtualThread
 @Path("/api/v1/auth")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -17,14 +22,35 @@ public class AuthGatewayResource {
 
     private static final Logger LOG = Logger.getLogger(AuthGatewayResource.class);
 
-    @GrpcClient("authorization-service")
-    AuthorizationService authorizationService;
+    @Inject
+    Backend<MutinyAuthorizationServiceGrpc.MutinyAuthorizationServiceStub> authorizationService;
+
+    @Inject
+    GrpcCalls grpcCalls;
+
+    @Inject
+    AuthRateLimiter rateLimiter;
+
+    @Inject
+    AuthorizationDecisions decisions;
+
+    @Inject
+    IdempotencyStore idempotency;
 
     @POST
     @Path("/signup")
-    public Response signup(SignupRequestDTO request) {
+    public Response signup(SignupRequestDTO request, @Context HttpServerRequest httpRequest,
+                           @HeaderParam(IdempotencyStore.HEADER) String idempotencyKey) {
+        return idempotency.execute(Route.SIGNUP.key(), idempotencyKey,
+                IdempotencyStore.fingerprint(request.email, request.password, request.firstName, request.lastName,
+                        request.phoneNumber, request.role),
+                () -> doSignup(request, httpRequest));
+    }
+
+    private Response doSignup(SignupRequestDTO request, HttpServerRequest httpRequest) {
         try {
             LOG.infof("Signup attempt for email: %s", request.email);
+            rateLimiter.checkSignup(clientIp(httpRequest), request.email);
             
             SignupRequest grpcRequest = SignupRequest.newBuilder()
                     .setEmail(request.email)
@@ -35,7 +61,7 @@ public class AuthGatewayResource {
                     .setRole(request.role != null ? request.role : "USER")
                     .build();
 
-            TokenResponse response = authorizationService.signup(grpcRequest).await().indefinitely();
+            TokenResponse response = grpcCalls.call(Route.SIGNUP, authorizationService, s -> s.signup(grpcRequest));
             
             TokenResponseDTO dto = new TokenResponseDTO();
             dto.accessToken = response.getAccessToken();
@@ -45,18 +71,27 @@ public class AuthGatewayResource {
             dto.scope = response.getScope();
             
             return Response.ok(dto).status(Response.Status.CREATED).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            LOG.errorf(e, "Signup failed for email: %s", request.email);
-            return Response.status(Response.Status.BAD_REQUEST)
+            Response.Status status = GrpcCalls.errorStatus(e);
+            if (status == Response.Status.INTERNAL_SERVER_ERROR) {
+                LOG.errorf(e, "Signup failed for email: %s", request.email);
+            } else {
+                LOG.warnf("Signup rejected for email %s: %s", request.email, e.getMessage());
+            }
+            return Response.status(status)
                     .entity(new ErrorResponse("Signup failed: " + e.getMessage())).build();
         }
     }
 
     @POST
     @Path("/login")
-    public Response login(LoginRequestDTO request) {
+    public Response login(LoginRequestDTO request, @Context HttpServerRequest httpRequest) {
         try {
             LOG.infof("Login attempt for user: %s", request.username);
+            rateLimiter.checkLogin(clientIp(httpRequest), request.username);
             
             AuthenticateRequest grpcRequest = AuthenticateRequest.newBuilder()
                     .setUsername(request.username)
@@ -65,7 +100,8 @@ public class AuthGatewayResource {
                     .setClientSecret(request.clientSecret != null ? request.clientSecret : "")
                     .build();
 
-            TokenResponse response = authorizationService.authenticate(grpcRequest).await().indefinitely();
+            TokenResponse response = grpcCalls.call(Route.LOGIN, authorizationService, s -> s.authenticate(grpcRequest));
+            rateLimiter.loginSucceeded(request.username);
             
             TokenResponseDTO dto = new TokenResponseDTO();
             dto.accessToken = response.getAccessToken();
@@ -75,9 +111,19 @@ public class AuthGatewayResource {
             dto.scope = response.getScope();
             
             return Response.ok(dto).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            LOG.errorf(e, "Login failed for user: %s", request.username);
-            return Response.status(Response.Status.UNAUTHORIZED)
+            // Only rejected credentials count towards the lockout; an outage must not lock users out.
+            Response.Status status = GrpcCalls.errorStatus(e);
+            if (status == Response.Status.UNAUTHORIZED) {
+                LOG.warnf("Login failed for user %s: %s", request.username, e.getMessage());
+                rateLimiter.loginFailed(request.username);
+            } else {
+                LOG.errorf(e, "Login failed for user: %s", request.username);
+            }
+            return Response.status(status)
                     .entity(new ErrorResponse("Authentication failed: " + e.getMessage())).build();
         }
     }
@@ -96,7 +142,7 @@ public class AuthGatewayResource {
                     .setToken(token)
                     .build();
 
-            TokenValidationResponse response = authorizationService.validateToken(request).await().indefinitely();
+            TokenValidationResponse response = grpcCalls.call(Route.VALIDATE_TOKEN, authorizationService, s -> s.validateToken(request));
             
             if (!response.getValid()) {
                 return Response.status(Response.Status.UNAUTHORIZED)
@@ -112,6 +158,9 @@ public class AuthGatewayResource {
             dto.expiresAt = response.getExpiresAt();
             
             return Response.ok(dto).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             LOG.errorf(e, "Token validation failed");
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -121,9 +170,10 @@ public class AuthGatewayResource {
 
     @POST
     @Path("/refresh")
-    public Response refreshToken(RefreshTokenRequestDTO request) {
+    public Response refreshToken(RefreshTokenRequestDTO request, @Context HttpServerRequest httpRequest) {
         try {
             LOG.infof("Refreshing token");
+            rateLimiter.checkRefresh(clientIp(httpRequest));
             
             RefreshTokenRequest grpcRequest = RefreshTokenRequest.newBuilder()
                     .setRefreshToken(request.refreshToken)
@@ -131,7 +181,7 @@ public class AuthGatewayResource {
                     .setClientSecret(request.clientSecret != null ? request.clientSecret : "")
                     .build();
 
-            TokenResponse response = authorizationService.refreshToken(grpcRequest).await().indefinitely();
+            TokenResponse response = grpcCalls.call(Route.REFRESH_TOKEN, authorizationService, s -> s.refreshToken(grpcRequest));
             
             TokenResponseDTO dto = new TokenResponseDTO();
             dto.accessToken = response.getAccessToken();
@@ -141,6 +191,9 @@ public class AuthGatewayResource {
             dto.scope = response.getScope();
             
             return Response.ok(dto).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             LOG.errorf(e, "Token refresh failed");
             return Response.status(Response.Status.UNAUTHORIZED)
@@ -162,7 +215,7 @@ public class AuthGatewayResource {
                     .setToken(token)
                     .build();
 
-            UserInfoResponse response = authorizationService.getUserInfo(request).await().indefinitely();
+            UserInfoResponse response = grpcCalls.call(Route.USER_INFO, authorizationService, s -> s.getUserInfo(request));
             
             UserInfoResponseDTO dto = new UserInfoResponseDTO();
             dto.userId = response.getUserId();
@@ -174,6 +227,9 @@ public class AuthGatewayResource {
             dto.attributes = response.getAttributesMap();
             
             return Response.ok(dto).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             LOG.errorf(e, "Failed to get user info");
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -196,7 +252,7 @@ public class AuthGatewayResource {
                     .setRefreshToken(request.refreshToken != null ? request.refreshToken : "")
                     .build();
 
-            LogoutResponse response = authorizationService.logout(grpcRequest).await().indefinitely();
+            LogoutResponse response = grpcCalls.call(Route.LOGOUT, authorizationService, s -> s.logout(grpcRequest));
             
             if (response.getSuccess()) {
                 return Response.ok(new SuccessResponse(response.getMessage())).build();
@@ -204,6 +260,9 @@ public class AuthGatewayResource {
                 return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                         .entity(new ErrorResponse(response.getMessage())).build();
             }
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             LOG.errorf(e, "Logout failed");
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -221,19 +280,18 @@ public class AuthGatewayResource {
                         .entity(new ErrorResponse("Missing or invalid Authorization header")).build();
             }
             
-            CheckPermissionRequest grpcRequest = CheckPermissionRequest.newBuilder()
-                    .setToken(token)
-                    .setResource(request.resource)
-                    .setScope(request.scope)
-                    .build();
-
-            PermissionResponse response = authorizationService.checkPermission(grpcRequest).await().indefinitely();
+            boolean granted = decisions.isGranted(token,
+                    request.resource != null ? request.resource : "",
+                    request.scope != null ? request.scope : "");
             
             PermissionResponseDTO dto = new PermissionResponseDTO();
-            dto.granted = response.getGranted();
-            dto.message = response.getMessage();
+            dto.granted = granted;
+            dto.message = granted ? "Permission granted" : "Permission denied";
             
             return Response.ok(dto).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             LOG.errorf(e, "Permission check failed");
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -241,6 +299,49 @@ public class AuthGatewayResource {
         }
     }
 
+    @POST
+    @Path("/check-permissions")
+    public Response checkPermissions(@HeaderParam("Authorization") String authHeader, CheckPermissionsRequestDTO request) {
+        try {
+            String token = extractToken(authHeader);
+            if (token == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("Missing or invalid Authorization header")).build();
+            }
+            List<CheckPermissionRequestDTO> queries = request.permissions != null ? request.permissions : List.of();
+            List<AuthorizationDecisions.Permission> permissions = queries.stream()
+                    .map(query -> new AuthorizationDecisions.Permission(
+                            query.resource != null ? query.resource : "",
+                            query.scope != null ? query.scope : ""))
+                    .collect(Collectors.toList());
+
+            boolean[] granted = decisions.areGranted(token, permissions);
+            
+            CheckPermissionsResponseDTO dto = new CheckPermissionsResponseDTO();
+            dto.permissions = new ArrayList<>(queries.size());
+            for (int i = 0; i < queries.size(); i++) {
+                PermissionResultDTO result = new PermissionResultDTO();
+                result.resource = queries.get(i).resource;
+                result.scope = queries.get(i).scope;
+                result.granted = granted[i];
+                dto.permissions.add(result);
+            }
+            
+            return Response.ok(dto).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            LOG.errorf(e, "Permission check failed");
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorResponse("Permission check failed: " + e.getMessage())).build();
+        }
+    }
+
+    private String clientIp(HttpServerRequest httpRequest) {
+        return httpRequest.remoteAddress() != null ? httpRequest.remoteAddress().hostAddress() : null;
+    }
+
     private String extractToken(String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             return null;
@@ -279,6 +380,10 @@ public class AuthGatewayResource {
         public String scope;
     }
 
+    public static class CheckPermissionsRequestDTO {
+        public List<CheckPermissionRequestDTO> permissions;
+    }
+
     public static class TokenResponseDTO {
         public String accessToken;
         public String refreshToken;
@@ -311,6 +416,16 @@ public class AuthGatewayResource {
         public String message;
     }
 
+    public static class CheckPermissionsResponseDTO {
+        public List<PermissionResultDTO> permissions;
+    }
+
+    public static class PermissionResultDTO {
+        public String resource;
+        public String scope;
+        public boolean granted;
+    }
+
     public static class SuccessResponse {
         public String message;
         public boolean success = true;
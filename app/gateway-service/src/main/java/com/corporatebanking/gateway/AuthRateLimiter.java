@@ -0,0 +1,144 @@
+package com.corporatebanking.gateway;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limits the unauthenticated auth endpoints before any backend call is made: a token
+ * bucket per client IP and per target username or email for each endpoint, and a sliding
+ * window of failed logins per username. Idle entries are swept periodically, and the number
+ * of tracked keys is capped.
+ */
+@ApplicationScoped
+public class AuthRateLimiter {
+
+    private static final Logger LOG = Logger.getLogger(AuthRateLimiter.class);
+
+    @Inject
+    GatewayConfig config;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SlidingWindowCounter> failedLogins = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * Nanosecond time source, {@link System#nanoTime()} outside tests.
+     */
+    LongSupplier clock = System::nanoTime;
+
+    @PostConstruct
+    void init() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.rateLimit().sweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    public void checkSignup(String clientIp, String email) {
+        acquire("signup", "ip", clientIp, config.rateLimit().ip());
+        acquire("signup", "user", normalize(email), config.rateLimit().username());
+    }
+
+    public void checkLogin(String clientIp, String username) {
+        acquire("login", "ip", clientIp, config.rateLimit().ip());
+        String user = normalize(username);
+        if (user != null && config.rateLimit().enabled()) {
+            SlidingWindowCounter failures = failedLogins.get(user);
+            long now = clock.getAsLong();
+            if (failures != null && failures.count(now) >= config.rateLimit().failedLogins().max()) {
+                throw rejected("login", "user", Duration.ofNanos(failures.untilRoll(now)));
+            }
+        }
+        acquire("login", "user", user, config.rateLimit().username());
+    }
+
+    public void checkRefresh(String clientIp) {
+        acquire("refresh", "ip", clientIp, config.rateLimit().ip());
+    }
+
+    public void loginFailed(String username) {
+        String user = normalize(username);
+        if (user == null || !config.rateLimit().enabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        SlidingWindowCounter failures = track(failedLogins, user,
+                key -> new SlidingWindowCounter(config.rateLimit().failedLogins().window().toNanos(), now));
+        failures.increment(now);
+    }
+
+    public void loginSucceeded(String username) {
+        String user = normalize(username);
+        if (user != null) {
+            failedLogins.remove(user);
+        }
+    }
+
+    private void acquire(String endpoint, String kind, String key, GatewayConfig.Bucket limit) {
+        if (key == null || !config.rateLimit().enabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        TokenBucket bucket = track(buckets, endpoint + '|' + kind + '|' + key,
+                ignored -> new TokenBucket(limit.capacity(), limit.period().toNanos(), now));
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            throw rejected(endpoint, kind, Duration.ofNanos(wait));
+        }
+    }
+
+    private <V> V track(ConcurrentHashMap<String, V> map, String key, Function<String, V> factory) {
+        V existing = map.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (buckets.size() + failedLogins.size() >= config.rateLimit().maxEntries()) {
+            sweep();
+            if (buckets.size() + failedLogins.size() >= config.rateLimit().maxEntries()) {
+                LOG.warnf("Rate limiter is tracking %d keys, rejecting new ones", buckets.size() + failedLogins.size());
+                throw new DownstreamUnavailableException(Response.Status.TOO_MANY_REQUESTS,
+                        "Too many requests", config.rateLimit().sweepInterval());
+            }
+        }
+        return map.computeIfAbsent(key, factory);
+    }
+
+    void sweep() {
+        long now = clock.getAsLong();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+        failedLogins.entrySet().removeIf(entry -> entry.getValue().isEmpty(now));
+    }
+
+    private static DownstreamUnavailableException rejected(String endpoint, String kind, Duration retryAfter) {
+        LOG.debugf("Rate limited %s by %s", endpoint, kind);
+        return DownstreamUnavailableException.rateLimited(endpoint, retryAfter);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,60 @@
+package com.corporatebanking.gateway;
+
+import jakarta.enterprise.context.RequestScoped;
+
+import java.util.List;
+
+/**
+ * Caller identity established by {@link SecurityFilter} for the current request.
+ */
+@RequestScoped
+public class AuthenticatedPrincipal {
+
+    private String userId;
+    private String username;
+    private List<String> roles = List.of();
+    private long expiresAt;
+    private boolean selfOnly;
+
+    void set(String userId, String username, List<String> roles, long expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.roles = List.copyOf(roles);
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isAuthenticated() {
+        return userId != null;
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public List<String> roles() {
+        return roles;
+    }
+
+    /**
+     * True when {@link PermissionFilter} let the request through only because the caller is
+     * acting on their own user; see {@link RequiresPermission#self()}.
+     */
+    public boolean selfOnly() {
+        return selfOnly;
+    }
+
+    void grantedForSelfOnly() {
+        this.selfOnly = true;
+    }
+
+    /**
+     * Token expiry in epoch milliseconds.
+     */
+    public long expiresAt() {
+        return expiresAt;
+    }
+}
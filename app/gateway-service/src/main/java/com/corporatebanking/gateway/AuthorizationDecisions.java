@@ -0,0 +1,123 @@
+package com.corporatebanking.gateway;
+
+import com.corporatebanking.authorizationservice.grpc.CheckPermissionsRequest;
+import com.corporatebanking.authorizationservice.grpc.CheckPermissionsResponse;
+import com.corporatebanking.authorizationservice.grpc.MutinyAuthorizationServiceGrpc;
+import com.corporatebanking.authorizationservice.grpc.PermissionQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Permission decisions for the authenticated caller, cached by (subject, roles, resource, scope)
+ * until the caller's token expires or {@code gateway.authorization-cache.ttl} passes, whichever
+ * comes first. Misses are resolved in one {@code CheckPermissions} call.
+ */
+@ApplicationScoped
+public class AuthorizationDecisions {
+
+    private static final Logger LOG = Logger.getLogger(AuthorizationDecisions.class);
+
+    public record Permission(String resource, String scope) {
+    }
+
+    private record Key(String subject, String roles, String resource, String scope) {
+    }
+
+    private record Decision(boolean granted, long expiresAt) {
+    }
+
+    @Inject
+    GatewayConfig config;
+
+    @Inject
+    Backend<MutinyAuthorizationServiceGrpc.MutinyAuthorizationServiceStub> authorizationService;
+
+    @Inject
+    GrpcCalls grpcCalls;
+
+    @Inject
+    AuthenticatedPrincipal principal;
+
+    private final ConcurrentHashMap<Key, Decision> decisions = new ConcurrentHashMap<>();
+
+    public boolean isGranted(String token, String resource, String scope) {
+        return areGranted(token, List.of(new Permission(resource, scope)))[0];
+    }
+
+    /**
+     * @return one flag per permission, all false when the token is not valid
+     */
+    public boolean[] areGranted(String token, List<Permission> permissions) {
+        boolean[] granted = new boolean[permissions.size()];
+        boolean cacheable = config.authorizationCache().enabled() && principal.isAuthenticated();
+        String roles = cacheable ? rolesDigest(principal.roles()) : null;
+        long now = System.currentTimeMillis();
+
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < permissions.size(); i++) {
+            Decision decision = cacheable ? decisions.get(key(roles, permissions.get(i))) : null;
+            if (decision != null && decision.expiresAt() > now) {
+                granted[i] = decision.granted();
+            } else {
+                misses.add(i);
+            }
+        }
+        if (misses.isEmpty()) {
+            return granted;
+        }
+
+        CheckPermissionsRequest.Builder request = CheckPermissionsRequest.newBuilder().setToken(token);
+        for (int i : misses) {
+            Permission permission = permissions.get(i);
+            request.addPermissions(PermissionQuery.newBuilder()
+                    .setResource(permission.resource())
+                    .setScope(permission.scope())
+                    .build());
+        }
+        CheckPermissionsRequest built = request.build();
+        CheckPermissionsResponse response = grpcCalls.call(Route.CHECK_PERMISSIONS, authorizationService,
+                s -> s.checkPermissions(built));
+        if (!response.getValid()) {
+            LOG.debugf("Permission check rejected the token: %s", response.getError());
+            return granted;
+        }
+
+        long expiresAt = Math.min(principal.expiresAt(), now + config.authorizationCache().ttl().toMillis());
+        for (int j = 0; j < misses.size(); j++) {
+            int i = misses.get(j);
+            granted[i] = response.getGranted(j);
+            if (cacheable) {
+                remember(key(roles, permissions.get(i)), new Decision(granted[i], expiresAt), now);
+            }
+        }
+        return granted;
+    }
+
+    private void remember(Key key, Decision decision, long now) {
+        if (decisions.size() >= config.authorizationCache().maxEntries()) {
+            decisions.values().removeIf(existing -> existing.expiresAt() <= now);
+            if (decisions.size() >= config.authorizationCache().maxEntries()) {
+                return;
+            }
+        }
+        decisions.put(key, decision);
+    }
+
+    private Key key(String roles, Permission permission) {
+        return new Key(principal.userId(), roles, permission.resource(), permission.scope());
+    }
+
+    private static String rolesDigest(List<String> roles) {
+        if (roles.size() <= 1) {
+            return roles.isEmpty() ? "" : roles.get(0);
+        }
+        List<String> sorted = new ArrayList<>(roles);
+        sorted.sort(null);
+        return String.join(",", sorted);
+    }
+}
@@ -0,0 +1,34 @@
+package com.corporatebanking.gateway;
+
+import io.grpc.Channel;
+import io.grpc.stub.AbstractStub;
+
+import java.util.function.Function;
+
+/**
+ * A downstream service reachable through its replica set, with the factory for its stub type.
+ */
+public class Backend<S extends AbstractStub<S>> {
+
+    private final Downstream downstream;
+    private final ReplicaSet replicas;
+    private final Function<Channel, S> stubFactory;
+
+    public Backend(Downstream downstream, ReplicaSet replicas, Function<Channel, S> stubFactory) {
+        this.downstream = downstream;
+        this.replicas = replicas;
+        this.stubFactory = stubFactory;
+    }
+
+    public Downstream downstream() {
+        return downstream;
+    }
+
+    public ReplicaSet replicas() {
+        return replicas;
+    }
+
+    S stub(Replica replica) {
+        return stubFactory.apply(replica.channel());
+    }
+}
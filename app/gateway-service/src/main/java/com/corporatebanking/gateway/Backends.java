@@ -0,0 +1,131 @@
+package com.corporatebanking.gateway;
+
+import com.corporatebanking.authorizationservice.grpc.MutinyAuthorizationServiceGrpc;
+import com.corporatebanking.userservice.grpc.MutinyUserServiceGrpc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ClientInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.MetricCollectingClientInterceptor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.jboss.logging.Logger;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the replica sets of the backends and produces the {@link Backend}s injected into
+ * the resources.
+ */
+@ApplicationScoped
+public class Backends {
+
+    private static final Logger LOG = Logger.getLogger(Backends.class);
+
+    @Inject
+    GatewayConfig config;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<Downstream, ReplicaSet> replicaSets = new EnumMap<>(Downstream.class);
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    void init() {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        // Channels are built here rather than by Quarkus, so the gRPC client binder does not see them.
+        ClientInterceptor clientMetrics = new MetricCollectingClientInterceptor(registry);
+        ClientInterceptor serverTiming = new ServerTimingInterceptor();
+        for (Downstream downstream : Downstream.values()) {
+            GatewayConfig.BackendConfig backend = backendConfig(downstream);
+            ReplicaSet replicaSet = new ReplicaSet(downstream, discoveryFor(downstream, backend, httpClient),
+                    backend.routing(), config.ejection(), config.affinity(), clientMetrics, serverTiming);
+            replicaSet.refresh();
+            replicaSets.put(downstream, replicaSet);
+            FunctionCounter.builder("gateway_affinity_routed", replicaSet, ReplicaSet::affinityHits)
+                    .tags("downstream", downstream.clientName(), "outcome", "owner")
+                    .register(registry);
+            FunctionCounter.builder("gateway_affinity_routed", replicaSet, ReplicaSet::affinitySpills)
+                    .tags("downstream", downstream.clientName(), "outcome", "spilled")
+                    .register(registry);
+        }
+
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-discovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.discovery().refreshInterval().toMillis();
+        for (ReplicaSet replicaSet : replicaSets.values()) {
+            if (replicaSet.discovery().dynamic()) {
+                refresher.scheduleWithFixedDelay(replicaSet::refresh, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+        replicaSets.values().forEach(ReplicaSet::shutdown);
+    }
+
+    @Produces
+    @Singleton
+    Backend<MutinyUserServiceGrpc.MutinyUserServiceStub> userService() {
+        return new Backend<>(Downstream.USER_SERVICE, replicaSets.get(Downstream.USER_SERVICE),
+                MutinyUserServiceGrpc::newMutinyStub);
+    }
+
+    @Produces
+    @Singleton
+    Backend<MutinyAuthorizationServiceGrpc.MutinyAuthorizationServiceStub> authorizationService() {
+        return new Backend<>(Downstream.AUTHORIZATION_SERVICE, replicaSets.get(Downstream.AUTHORIZATION_SERVICE),
+                MutinyAuthorizationServiceGrpc::newMutinyStub);
+    }
+
+    public ReplicaSet replicaSet(Downstream downstream) {
+        return replicaSets.get(downstream);
+    }
+
+    private GatewayConfig.BackendConfig backendConfig(Downstream downstream) {
+        GatewayConfig.BackendConfig backend = config.backends().get(downstream.clientName());
+        if (backend == null) {
+            throw new IllegalStateException("No gateway.backends." + downstream.clientName() + " configuration");
+        }
+        return backend;
+    }
+
+    private ReplicaDiscovery discoveryFor(Downstream downstream, GatewayConfig.BackendConfig backend, HttpClient httpClient) {
+        List<ReplicaAddress> replicas = backend.replicas().orElse(List.of()).stream()
+                .map(ReplicaAddress::parse)
+                .toList();
+
+        switch (backend.discovery()) {
+            case "consul":
+                String service = backend.consulService().orElse(downstream.clientName());
+                LOG.infof("Resolving %s from Consul service %s", downstream.clientName(), service);
+                return new ConsulReplicaDiscovery(httpClient, objectMapper, config.discovery().consulUrl(), service);
+            case "in-memory":
+                return new InMemoryReplicaDiscovery(replicas);
+            case "static":
+                return new StaticReplicaDiscovery(replicas);
+            default:
+                throw new IllegalStateException("Unknown discovery type for " + downstream.clientName() + ": " + backend.discovery());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.corporatebanking.gateway;
+
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for one downstream. Opens when the failure ratio over the last
+ * {@code window} calls reaches the threshold, fails fast while open, and lets a few probe calls
+ * through once the open period has elapsed.
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOG = Logger.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRatio;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, GatewayConfig.Breaker config) {
+        this(name, config, System::nanoTime);
+    }
+
+    /**
+     * @param clock nanosecond time source, {@link System#nanoTime()} outside tests
+     */
+    CircuitBreaker(String name, GatewayConfig.Breaker config, LongSupplier clock) {
+        this.name = name;
+        this.outcomes = new boolean[config.window()];
+        this.minimumCalls = Math.min(config.minimumCalls(), config.window());
+        this.failureRatio = config.failureRatio();
+        this.openNanos = config.openDuration().toNanos();
+        this.halfOpenCalls = config.halfOpenCalls();
+        this.clock = clock;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = 0;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && failures >= failureRatio * recorded) {
+            open();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized Duration retryAfter() {
+        long remaining = openNanos - (clock.getAsLong() - openedAt);
+        return Duration.ofNanos(Math.max(remaining, 0L));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        if (state != State.OPEN) {
+            LOG.warnf("Circuit breaker for %s opened after %d failures in %d calls", name, failures, recorded);
+        }
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        LOG.infof("Circuit breaker for %s closed", name);
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,110 @@
+package com.corporatebanking.gateway;
+
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gradient concurrency limit for one downstream or route. The allowed in-flight count grows
+ * while recent round-trip times stay close to the long-term average and shrinks in proportion
+ * when they rise, so queueing in the backend turns into quick rejections here instead of
+ * growing latency. Backend failures back the limit off multiplicatively.
+ */
+public class ConcurrencyLimiter {
+
+    private static final Logger LOG = Logger.getLogger(ConcurrencyLimiter.class);
+
+    private static final double SHORT_RTT_WEIGHT = 0.2;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longRttWeight;
+    private final double backoffRatio;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private double limit;
+    private int inFlight;
+    private double shortRtt;
+    private double longRtt;
+
+    public ConcurrencyLimiter(String name, GatewayConfig.Concurrency config) {
+        this.name = name;
+        this.minLimit = config.minLimit();
+        this.maxLimit = config.maxLimit();
+        this.smoothing = config.smoothing();
+        this.rttTolerance = config.rttTolerance();
+        this.longRttWeight = 1.0 / config.longWindow();
+        this.backoffRatio = config.backoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, config.initialLimit()));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Ends a call without using it as a sample, e.g. one that never reached the backend.
+     */
+    public synchronized void release() {
+        inFlight--;
+    }
+
+    /**
+     * Ends a call and adjusts the limit from its round-trip time, or backs off when the backend
+     * dropped it.
+     */
+    public synchronized void onSample(long rttNanos, boolean dropped) {
+        int callsInFlight = inFlight--;
+        double previous = limit;
+
+        if (dropped) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else {
+            shortRtt = shortRtt == 0 ? rttNanos : shortRtt + SHORT_RTT_WEIGHT * (rttNanos - shortRtt);
+            longRtt = longRtt == 0 ? rttNanos : longRtt + longRttWeight * (rttNanos - longRtt);
+
+            // Let the baseline follow a lasting latency drop instead of dragging the limit down.
+            if (longRtt / shortRtt > 2.0) {
+                longRtt *= 0.95;
+            }
+
+            // Only grow when the current limit is actually being used.
+            if (callsInFlight < limit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+            double target = limit * gradient + Math.sqrt(limit);
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+        }
+
+        if ((int) limit != (int) previous) {
+            LOG.debugf("Concurrency limit for %s: %d -> %d", name, (int) previous, (int) limit);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+}
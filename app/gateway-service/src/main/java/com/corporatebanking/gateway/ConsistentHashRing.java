@@ -0,0 +1,77 @@
+package com.corporatebanking.gateway;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable hash ring over a replica set with a number of virtual nodes per replica. Adding or
+ * removing a replica only moves the keys on the arcs that replica owns.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final Replica[] owners;
+
+    public ConsistentHashRing(List<Replica> replicas, int virtualNodes) {
+        int size = replicas.size() * virtualNodes;
+        long[][] entries = new long[size][2];
+        int i = 0;
+        for (int r = 0; r < replicas.size(); r++) {
+            String address = replicas.get(r).address().toString();
+            for (int v = 0; v < virtualNodes; v++) {
+                entries[i][0] = hash(address + "#" + v);
+                entries[i][1] = r;
+                i++;
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+        points = new long[size];
+        owners = new Replica[size];
+        for (int j = 0; j < size; j++) {
+            points[j] = entries[j][0];
+            owners[j] = replicas.get((int) entries[j][1]);
+        }
+    }
+
+    public boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * Index of the first ring position at or after the key's hash.
+     */
+    public int position(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index == points.length ? 0 : index;
+    }
+
+    public Replica ownerAt(int position) {
+        return owners[position % owners.length];
+    }
+
+    /**
+     * 64-bit FNV-1a followed by a murmur3 finaliser to spread similar keys over the ring.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
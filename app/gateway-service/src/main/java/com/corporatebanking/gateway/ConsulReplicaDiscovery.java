@@ -0,0 +1,53 @@
+package com.corporatebanking.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the instances of a service that pass their Consul health checks.
+ */
+public class ConsulReplicaDiscovery implements ReplicaDiscovery {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(2);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI healthUri;
+
+    public ConsulReplicaDiscovery(HttpClient httpClient, ObjectMapper objectMapper, String consulUrl, String serviceName) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.healthUri = URI.create(consulUrl + "/v1/health/service/"
+                + URLEncoder.encode(serviceName, StandardCharsets.UTF_8) + "?passing=true");
+    }
+
+    @Override
+    public List<ReplicaAddress> resolve() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(healthUri).timeout(REQUEST_TIMEOUT).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Consul returned " + response.statusCode() + " for " + healthUri);
+        }
+
+        List<ReplicaAddress> replicas = new ArrayList<>();
+        for (JsonNode entry : objectMapper.readTree(response.body())) {
+            JsonNode service = entry.path("Service");
+            String address = service.path("Address").asText("");
+            if (address.isEmpty()) {
+                address = entry.path("Node").path("Address").asText();
+            }
+            replicas.add(new ReplicaAddress(address, service.path("Port").asInt()));
+        }
+        return replicas;
+    }
+}
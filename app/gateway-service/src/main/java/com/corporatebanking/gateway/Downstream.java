@@ -0,0 +1,16 @@
+package com.corporatebanking.gateway;
+
+public enum Downstream {
+    USER_SERVICE("user-service"),
+    AUTHORIZATION_SERVICE("authorization-service");
+
+    private final String clientName;
+
+    Downstream(String clientName) {
+        this.clientName = clientName;
+    }
+
+    public String clientName() {
+        return clientName;
+    }
+}
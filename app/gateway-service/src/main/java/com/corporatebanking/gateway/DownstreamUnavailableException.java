@@ -0,0 +1,59 @@
+package com.corporatebanking.gateway;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+import java.time.Duration;
+
+/**
+ * Raised instead of calling (or waiting on) a backend when the call cannot complete in time
+ * or must not be made. Resources translate it into a response with the carried status.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    private final Response.Status status;
+    private final Duration retryAfter;
+
+    public DownstreamUnavailableException(Response.Status status, String message) {
+        this(status, message, null);
+    }
+
+    public DownstreamUnavailableException(Response.Status status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public static DownstreamUnavailableException deadlineExceeded(Route route) {
+        return new DownstreamUnavailableException(Response.Status.GATEWAY_TIMEOUT,
+                "Deadline exceeded calling " + route.downstream().clientName() + " for " + route.key());
+    }
+
+    public static DownstreamUnavailableException circuitOpen(Downstream downstream, Duration retryAfter) {
+        return new DownstreamUnavailableException(Response.Status.SERVICE_UNAVAILABLE,
+                "Circuit breaker open for " + downstream.clientName(), retryAfter);
+    }
+
+    public static DownstreamUnavailableException overloaded(String name, Duration retryAfter) {
+        return new DownstreamUnavailableException(Response.Status.SERVICE_UNAVAILABLE,
+                "Concurrency limit reached for " + name, retryAfter);
+    }
+
+    public static DownstreamUnavailableException rateLimited(String endpoint, Duration retryAfter) {
+        return new DownstreamUnavailableException(Response.Status.TOO_MANY_REQUESTS,
+                "Too many " + endpoint + " attempts", retryAfter);
+    }
+
+    public Response.Status getStatus() {
+        return status;
+    }
+
+    public Response toResponse(Object entity) {
+        Response.ResponseBuilder builder = Response.status(status).entity(entity);
+        if (retryAfter != null) {
+            long seconds = Math.max(1L, (retryAfter.toMillis() + 999L) / 1000L);
+            builder.header(HttpHeaders.RETRY_AFTER, seconds);
+        }
+        return builder.build();
+    }
+}
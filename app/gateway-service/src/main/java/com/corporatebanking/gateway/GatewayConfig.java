@@ -0,0 +1,297 @@
+package com.corporatebanking.gateway;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@ConfigMapping(prefix = "gateway")
+public interface GatewayConfig {
+
+    Deadlines deadlines();
+
+    @WithName("circuit-breaker")
+    Breaker circuitBreaker();
+
+    Hedging hedging();
+
+    Concurrency concurrency();
+
+    @WithName("rate-limit")
+    RateLimit rateLimit();
+
+    @WithName("authorization-cache")
+    AuthorizationCache authorizationCache();
+
+    Idempotency idempotency();
+
+    @WithName("server-timing")
+    Timing serverTiming();
+
+    /**
+     * Backend replica sets keyed by downstream name, e.g. {@code gateway.backends.user-service.replicas}.
+     */
+    Map<String, BackendConfig> backends();
+
+    Discovery discovery();
+
+    Ejection ejection();
+
+    Affinity affinity();
+
+    interface Deadlines {
+
+        /**
+         * Total budget for one gateway request, shared by token validation in
+         * {@link SecurityFilter} and the call made by the resource.
+         */
+        @WithDefault("10s")
+        Duration request();
+
+        @WithName("default")
+        @WithDefault("5s")
+        Duration defaultRoute();
+
+        /**
+         * Per-route overrides keyed by {@link Route#key()}.
+         */
+        Map<String, Duration> routes();
+    }
+
+    interface Breaker {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Number of most recent calls the failure ratio is computed over.
+         */
+        @WithDefault("20")
+        int window();
+
+        @WithDefault("10")
+        int minimumCalls();
+
+        @WithDefault("0.5")
+        double failureRatio();
+
+        @WithDefault("10s")
+        Duration openDuration();
+
+        @WithDefault("3")
+        int halfOpenCalls();
+    }
+
+    interface Concurrency {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithDefault("20")
+        int initialLimit();
+
+        @WithDefault("4")
+        int minLimit();
+
+        @WithDefault("500")
+        int maxLimit();
+
+        /**
+         * Weight of each new estimate when moving the limit.
+         */
+        @WithDefault("0.2")
+        double smoothing();
+
+        /**
+         * How far recent RTT may exceed the long-term average before the limit shrinks.
+         */
+        @WithDefault("1.5")
+        double rttTolerance();
+
+        /**
+         * Number of samples the long-term RTT average spans.
+         */
+        @WithDefault("600")
+        int longWindow();
+
+        /**
+         * Factor applied to the limit when the backend drops a call.
+         */
+        @WithDefault("0.9")
+        double backoffRatio();
+
+        @WithDefault("1s")
+        Duration retryAfter();
+    }
+
+    interface RateLimit {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Per client IP, for each of login, signup and refresh.
+         */
+        Bucket ip();
+
+        /**
+         * Per target username (login) or email (signup).
+         */
+        Bucket username();
+
+        @WithName("failed-logins")
+        FailedLogins failedLogins();
+
+        @WithDefault("100000")
+        int maxEntries();
+
+        @WithDefault("30s")
+        Duration sweepInterval();
+    }
+
+    interface Bucket {
+
+        int capacity();
+
+        Duration period();
+    }
+
+    interface FailedLogins {
+
+        /**
+         * Failed logins for one username within the window after which logins are refused.
+         */
+        @WithDefault("5")
+        int max();
+
+        @WithDefault("15m")
+        Duration window();
+    }
+
+    interface AuthorizationCache {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Upper bound on how long a decision is reused, so policy changes take effect without
+         * waiting for tokens to expire.
+         */
+        @WithDefault("60s")
+        Duration ttl();
+
+        @WithDefault("50000")
+        int maxEntries();
+    }
+
+    interface Idempotency {
+
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * How long a completed response is replayed for its key.
+         */
+        @WithDefault("10m")
+        Duration ttl();
+
+        @WithDefault("100000")
+        int maxEntries();
+    }
+
+    interface Timing {
+
+        /**
+         * Adds a {@code Server-Timing} header to every response.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * When set, a request carrying this value in {@code X-Server-Timing} gets the header even
+         * while it is disabled.
+         */
+        Optional<String> debugToken();
+    }
+
+    interface Hedging {
+
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Latency quantile of recent calls after which the second attempt is sent.
+         */
+        @WithDefault("0.95")
+        double quantile();
+
+        @WithDefault("10ms")
+        Duration minDelay();
+
+        @WithDefault("256")
+        int samples();
+    }
+
+    interface BackendConfig {
+
+        /**
+         * {@code static}, {@code consul} or {@code in-memory}.
+         */
+        @WithDefault("static")
+        String discovery();
+
+        /**
+         * Comma separated {@code host:port} list used by static and in-memory discovery.
+         */
+        Optional<List<String>> replicas();
+
+        /**
+         * Consul service name, defaults to the downstream name.
+         */
+        Optional<String> consulService();
+
+        /**
+         * {@code least-outstanding}, or {@code affinity} to hash calls by user id onto a ring.
+         */
+        @WithDefault("least-outstanding")
+        String routing();
+    }
+
+    interface Discovery {
+
+        @WithDefault("http://consul:8500")
+        String consulUrl();
+
+        @WithDefault("5s")
+        Duration refreshInterval();
+    }
+
+    interface Ejection {
+
+        @WithDefault("5")
+        int consecutiveFailures();
+
+        @WithDefault("10s")
+        Duration baseDuration();
+
+        @WithDefault("2m")
+        Duration maxDuration();
+    }
+
+    interface Affinity {
+
+        @WithDefault("160")
+        int virtualNodes();
+
+        /**
+         * A replica takes keyed calls while its in-flight count stays within this factor of the
+         * average; beyond that the key spills to the next replica on the ring.
+         */
+        @WithDefault("1.25")
+        double loadFactor();
+    }
+}
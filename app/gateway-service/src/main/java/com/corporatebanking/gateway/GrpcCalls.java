@@ -0,0 +1,299 @@
+package com.corporatebanking.gateway;
+
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.AbstractStub;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.arc.Arc;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Executes blocking gateway calls to the backends with a gRPC deadline derived from the
+ * route deadline and whatever is left of the request budget, behind adaptive concurrency
+ * limits per downstream and per route and a circuit breaker per downstream. Each attempt goes
+ * to the least loaded replica; idempotent reads are hedged onto a second replica when enabled.
+ * Every call, including the ones rejected here, is timed as {@code gateway_route_latency} by
+ * route and outcome, and added to the request's {@link ServerTiming} when it has one.
+ */
+@ApplicationScoped
+public class GrpcCalls {
+
+    private static final Logger LOG = Logger.getLogger(GrpcCalls.class);
+
+    private static final Duration AWAIT_GRACE = Duration.ofMillis(50);
+
+    @Inject
+    GatewayConfig config;
+
+    @Inject
+    RequestDeadline requestDeadline;
+
+    @Inject
+    RequestTiming requestTiming;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<Downstream, CircuitBreaker> breakers = new EnumMap<>(Downstream.class);
+    private final Map<Downstream, ConcurrencyLimiter> downstreamLimits = new EnumMap<>(Downstream.class);
+    private final Map<Route, ConcurrencyLimiter> routeLimits = new EnumMap<>(Route.class);
+    private final Map<Route, LatencyTracker> latencies = new EnumMap<>(Route.class);
+
+    @PostConstruct
+    void init() {
+        for (Downstream downstream : Downstream.values()) {
+            breakers.put(downstream, new CircuitBreaker(downstream.clientName(), config.circuitBreaker()));
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(downstream.clientName(), config.concurrency());
+            downstreamLimits.put(downstream, limiter);
+            registerLimiterMetrics(limiter, "downstream");
+        }
+        for (Route route : Route.values()) {
+            latencies.put(route, new LatencyTracker(config.hedging().samples(), config.hedging().quantile()));
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(route.key(), config.concurrency());
+            routeLimits.put(route, limiter);
+            registerLimiterMetrics(limiter, "route");
+        }
+    }
+
+    public <S extends AbstractStub<S>, T> T call(Route route, Backend<S> backend, Function<S, Uni<T>> rpc) {
+        return call(route, backend, null, rpc);
+    }
+
+    /**
+     * @param affinityKey routes the call to the same replica for the same key when the backend
+     *                    uses affinity routing; may be null
+     */
+    public <S extends AbstractStub<S>, T> T call(Route route, Backend<S> backend, String affinityKey,
+                                                 Function<S, Uni<T>> rpc) {
+        ServerTiming timing = Arc.container().requestContext().isActive() ? requestTiming.timing() : null;
+        long start = System.nanoTime();
+        String status = "OK";
+        try {
+            return timedCall(route, backend, affinityKey, rpc, timing);
+        } catch (StatusRuntimeException e) {
+            status = e.getStatus().getCode().name();
+            throw e;
+        } catch (DownstreamUnavailableException e) {
+            status = e.getStatus() == Response.Status.GATEWAY_TIMEOUT ? "DEADLINE_EXCEEDED" : "REJECTED";
+            throw e;
+        } catch (RuntimeException e) {
+            status = "ERROR";
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            registry.timer("gateway_route_latency",
+                    "route", route.key(), "downstream", route.downstream().clientName(), "status", status)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            if (timing != null) {
+                timing.add(route.key(), elapsed, route.downstream().clientName() + " " + status);
+            }
+        }
+    }
+
+    private <S extends AbstractStub<S>, T> T timedCall(Route route, Backend<S> backend, String affinityKey,
+                                                       Function<S, Uni<T>> rpc, ServerTiming timing) {
+        Duration budget = budgetFor(route);
+        if (budget.isNegative() || budget.isZero()) {
+            throw DownstreamUnavailableException.deadlineExceeded(route);
+        }
+
+        ConcurrencyLimiter downstreamLimit = downstreamLimits.get(route.downstream());
+        ConcurrencyLimiter routeLimit = routeLimits.get(route);
+        boolean limited = config.concurrency().enabled();
+        if (limited) {
+            if (!downstreamLimit.tryAcquire()) {
+                throw DownstreamUnavailableException.overloaded(downstreamLimit.name(), config.concurrency().retryAfter());
+            }
+            if (!routeLimit.tryAcquire()) {
+                downstreamLimit.release();
+                throw DownstreamUnavailableException.overloaded(routeLimit.name(), config.concurrency().retryAfter());
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean sampled = false;
+        boolean failed = false;
+        try {
+            T result = limitedCall(route, backend, affinityKey, rpc, budget, timing);
+            sampled = true;
+            return result;
+        } catch (StatusRuntimeException e) {
+            sampled = true;
+            failed = isBackendFailure(e);
+            throw e;
+        } catch (DownstreamUnavailableException e) {
+            sampled = e.getStatus() == Response.Status.GATEWAY_TIMEOUT;
+            failed = sampled;
+            throw e;
+        } finally {
+            if (limited) {
+                long rtt = System.nanoTime() - start;
+                for (ConcurrencyLimiter limiter : List.of(downstreamLimit, routeLimit)) {
+                    if (sampled) {
+                        limiter.onSample(rtt, failed);
+                    } else {
+                        limiter.release();
+                    }
+                }
+            }
+        }
+    }
+
+    private <S extends AbstractStub<S>, T> T limitedCall(Route route, Backend<S> backend, String affinityKey,
+                                                         Function<S, Uni<T>> rpc, Duration budget,
+                                                         ServerTiming timing) {
+        CircuitBreaker breaker = breakers.get(route.downstream());
+        boolean guarded = config.circuitBreaker().enabled();
+        if (guarded && !breaker.tryAcquire()) {
+            throw DownstreamUnavailableException.circuitOpen(route.downstream(), breaker.retryAfter());
+        }
+
+        Deadline deadline = Deadline.after(budget.toMillis(), TimeUnit.MILLISECONDS);
+        Duration hedgeDelay = hedgeDelay(route);
+        Uni<T> uni;
+        if (hedgeDelay == null) {
+            uni = attempt(backend, affinityKey, deadline, timing, rpc, null);
+        } else {
+            AtomicReference<Replica> first = new AtomicReference<>();
+            uni = Hedging.hedged(() -> attempt(backend, affinityKey, deadline, timing, rpc, first), hedgeDelay,
+                    () -> LOG.debugf("Hedging %s after %d ms", route.key(), hedgeDelay.toMillis()));
+        }
+
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            T result = uni.await().atMost(budget.plus(AWAIT_GRACE));
+            latencies.get(route).record(System.nanoTime() - start);
+            return result;
+        } catch (StatusRuntimeException e) {
+            failed = isBackendFailure(e);
+            if (e.getStatus().getCode() == Status.Code.DEADLINE_EXCEEDED) {
+                throw DownstreamUnavailableException.deadlineExceeded(route);
+            }
+            throw e;
+        } catch (TimeoutException e) {
+            failed = true;
+            throw DownstreamUnavailableException.deadlineExceeded(route);
+        } finally {
+            if (guarded) {
+                if (failed) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+            }
+        }
+    }
+
+    /**
+     * One attempt on one replica. When {@code first} is given, the first attempt records its
+     * replica there and later (hedged) attempts avoid it.
+     */
+    private <S extends AbstractStub<S>, T> Uni<T> attempt(Backend<S> backend, String affinityKey, Deadline deadline,
+                                                          ServerTiming timing, Function<S, Uni<T>> rpc,
+                                                          AtomicReference<Replica> first) {
+        return Uni.createFrom().deferred(() -> {
+            Replica replica = backend.replicas().pick(affinityKey, first != null ? first.get() : null);
+            if (first != null) {
+                first.compareAndSet(null, replica);
+            }
+            replica.begin();
+            S stub = backend.stub(replica).withDeadline(deadline);
+            if (timing != null) {
+                stub = stub.withOption(ServerTimingInterceptor.TIMING, timing);
+            }
+            return rpc.apply(stub)
+                    .onTermination().invoke((item, failure, cancelled) -> {
+                        replica.end();
+                        if (failure != null && isBackendFailure(failure)) {
+                            replica.onFailure();
+                        } else if (failure == null && !cancelled) {
+                            replica.onSuccess();
+                        }
+                    });
+        });
+    }
+
+    private void registerLimiterMetrics(ConcurrencyLimiter limiter, String scope) {
+        Tags tags = Tags.of("scope", scope, "name", limiter.name());
+        registry.gauge("gateway_concurrency_limit", tags, limiter, ConcurrencyLimiter::limit);
+        registry.gauge("gateway_concurrency_in_flight", tags, limiter, ConcurrencyLimiter::inFlight);
+        FunctionCounter.builder("gateway_concurrency_rejected", limiter, ConcurrencyLimiter::rejected)
+                .tags(tags)
+                .register(registry);
+    }
+
+    Duration budgetFor(Route route) {
+        GatewayConfig.Deadlines deadlines = config.deadlines();
+        Duration routeDeadline = deadlines.routes().getOrDefault(route.key(), deadlines.defaultRoute());
+        if (!Arc.container().requestContext().isActive()) {
+            return routeDeadline;
+        }
+        Duration remaining = requestDeadline.remaining();
+        return remaining.compareTo(routeDeadline) < 0 ? remaining : routeDeadline;
+    }
+
+    private Duration hedgeDelay(Route route) {
+        if (!config.hedging().enabled() || !route.idempotentRead()) {
+            return null;
+        }
+        long quantile = latencies.get(route).quantileNanos();
+        if (quantile < 0) {
+            return null;
+        }
+        Duration delay = Duration.ofNanos(quantile);
+        return delay.compareTo(config.hedging().minDelay()) < 0 ? config.hedging().minDelay() : delay;
+    }
+
+    /**
+     * HTTP status for a call that failed with something other than a
+     * {@link DownstreamUnavailableException}: a request the service rejected on its merits is the
+     * client's error, anything else is a server error the client may retry.
+     */
+    static Response.Status errorStatus(Exception failure) {
+        if (failure instanceof StatusRuntimeException) {
+            switch (((StatusRuntimeException) failure).getStatus().getCode()) {
+                case ALREADY_EXISTS:
+                    return Response.Status.CONFLICT;
+                case INVALID_ARGUMENT:
+                    return Response.Status.BAD_REQUEST;
+                case UNAUTHENTICATED:
+                    return Response.Status.UNAUTHORIZED;
+                default:
+                    break;
+            }
+        }
+        return Response.Status.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Statuses that say the backend could not serve the call, as opposed to errors surfaced by
+     * the service, which arrive as UNKNOWN or, for a rejected request, ALREADY_EXISTS.
+     */
+    private static boolean isBackendFailure(Throwable failure) {
+        if (!(failure instanceof StatusRuntimeException)) {
+            return false;
+        }
+        Status.Code code = ((StatusRuntimeException) failure).getStatus().getCode();
+        return code == Status.Code.UNAVAILABLE
+                || code == Status.Code.DEADLINE_EXCEEDED
+                || code == Status.Code.RESOURCE_EXHAUSTED;
+    }
+}
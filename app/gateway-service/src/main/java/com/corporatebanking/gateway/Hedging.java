@@ -0,0 +1,59 @@
+package com.corporatebanking.gateway;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+final class Hedging {
+
+    private Hedging() {
+    }
+
+    /**
+     * Starts {@code attempt} and, if it has not completed after {@code delay}, starts it a second
+     * time. The first item wins and the other attempt is cancelled; the call only fails once
+     * every started attempt has failed.
+     */
+    static <T> Uni<T> hedged(Supplier<Uni<T>> attempt, Duration delay, Runnable onHedge) {
+        return Uni.createFrom().emitter(emitter -> {
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicInteger outstanding = new AtomicInteger(1);
+            Queue<Cancellable> running = new ConcurrentLinkedQueue<>();
+
+            Consumer<Uni<T>> launch = uni -> running.add(uni.subscribe().with(
+                    item -> {
+                        if (done.compareAndSet(false, true)) {
+                            emitter.complete(item);
+                            running.forEach(Cancellable::cancel);
+                        }
+                    },
+                    failure -> {
+                        if (outstanding.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+                            emitter.fail(failure);
+                            running.forEach(Cancellable::cancel);
+                        }
+                    }));
+
+            emitter.onTermination(() -> running.forEach(Cancellable::cancel));
+            launch.accept(attempt.get());
+            running.add(Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(delay)
+                    .subscribe().with(ignored -> {
+                        if (!done.get() && outstanding.incrementAndGet() > 1) {
+                            onHedge.run();
+                            launch.accept(attempt.get());
+                            if (done.get()) {
+                                running.forEach(Cancellable::cancel);
+                            }
+                        }
+                    }));
+        });
+    }
+}
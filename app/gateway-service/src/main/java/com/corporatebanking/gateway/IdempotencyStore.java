@@ -0,0 +1,174 @@
+package com.corporatebanking.gateway;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes non-idempotent requests safe to retry with an {@code Idempotency-Key} header. The first
+ * request with a key does the work; a duplicate arriving meanwhile waits for that result, and
+ * one arriving later gets the stored response replayed. Only successes and definitive
+ * rejections such as a duplicate email are stored; anything else can be retried for real.
+ * Entries expire after {@code gateway.idempotency.ttl} and their number is capped.
+ */
+@ApplicationScoped
+public class IdempotencyStore {
+
+    private static final Logger LOG = Logger.getLogger(IdempotencyStore.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record StoredResponse(int status, Object entity) {
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<StoredResponse> result, long expiresAt) {
+    }
+
+    @Inject
+    GatewayConfig config;
+
+    @Inject
+    RequestDeadline requestDeadline;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    void init() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, 30, 30, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * @param scope       keeps keys of different routes and callers apart
+     * @param key         the client's idempotency key; without one the work simply runs
+     * @param fingerprint digest of the request, see {@link #fingerprint}; a key reused for a
+     *                    different request is refused
+     */
+    public Response execute(String scope, String key, String fingerprint, Supplier<Response> work) {
+        if (key == null || key.isBlank() || !config.idempotency().enabled()) {
+            return work.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return error(Response.Status.BAD_REQUEST.getStatusCode(), HEADER + " is too long");
+        }
+
+        String storeKey = scope + '|' + key;
+        long now = System.currentTimeMillis();
+        Entry created = new Entry(fingerprint, new CompletableFuture<>(), now + config.idempotency().ttl().toMillis());
+        Entry existing = entries.putIfAbsent(storeKey, created);
+        if (existing != null && existing.expiresAt() <= now) {
+            entries.remove(storeKey, existing);
+            existing = entries.putIfAbsent(storeKey, created);
+        }
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+        if (entries.size() > config.idempotency().maxEntries()) {
+            sweep();
+        }
+
+        Response response;
+        try {
+            response = work.get();
+        } catch (RuntimeException e) {
+            entries.remove(storeKey, created);
+            created.result().completeExceptionally(e);
+            throw e;
+        }
+        StoredResponse stored = new StoredResponse(response.getStatus(), response.getEntity());
+        if (!isFinal(response.getStatus()) || entries.size() > config.idempotency().maxEntries()) {
+            entries.remove(storeKey, created);
+        }
+        created.result().complete(stored);
+        return response;
+    }
+
+    /**
+     * SHA-256 over the request fields that must match for a replay.
+     */
+    public static String fingerprint(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update((part != null ? part : "").getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Response replay(Entry existing, String fingerprint) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            return error(422, HEADER + " was already used for a different request");
+        }
+        Duration wait = requestDeadline.remaining();
+        try {
+            StoredResponse stored = existing.result().get(Math.max(0L, wait.toMillis()), TimeUnit.MILLISECONDS);
+            LOG.debugf("Replaying response for %s", HEADER);
+            return Response.status(stored.status())
+                    .entity(stored.entity())
+                    .header(REPLAYED_HEADER, "true")
+                    .build();
+        } catch (TimeoutException e) {
+            return error(Response.Status.CONFLICT.getStatusCode(), "A request with this " + HEADER + " is still in progress");
+        } catch (ExecutionException e) {
+            return error(Response.Status.CONFLICT.getStatusCode(), "The original request with this " + HEADER + " failed, retry it");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), "Interrupted");
+        }
+    }
+
+    /**
+     * Successes and rejections of the request itself (invalid, conflicting with existing data)
+     * come out the same when retried. Anything else - server errors, rate limiting, auth
+     * failures - may not, so it is not replayed.
+     */
+    static boolean isFinal(int status) {
+        return (status >= 200 && status < 300)
+                || status == Response.Status.BAD_REQUEST.getStatusCode()
+                || status == Response.Status.CONFLICT.getStatusCode()
+                || status == 422;
+    }
+
+    void sweep() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private static Response error(int status, String message) {
+        return Response.status(status).entity(new AuthGatewayResource.ErrorResponse(message)).build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.corporatebanking.gateway;
+
+import java.util.List;
+
+/**
+ * Replica set held in memory and changed programmatically. Stands in for Consul in tests and
+ * local load runs that start and stop backend replicas themselves.
+ */
+public class InMemoryReplicaDiscovery implements ReplicaDiscovery {
+
+    private volatile List<ReplicaAddress> replicas;
+
+    public InMemoryReplicaDiscovery(List<ReplicaAddress> initial) {
+        this.replicas = List.copyOf(initial);
+    }
+
+    public void set(List<ReplicaAddress> replicas) {
+        this.replicas = List.copyOf(replicas);
+    }
+
+    @Override
+    public List<ReplicaAddress> resolve() {
+        return replicas;
+    }
+}
@@ -0,0 +1,50 @@
+package com.corporatebanking.gateway;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent successful call latencies for a route and periodically recomputes
+ * a quantile from them, used as the hedging delay.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final long[] samples;
+    private final double quantile;
+    private int next;
+    private int size;
+    private int sinceRecompute;
+    private volatile long quantileNanos = -1L;
+
+    public LatencyTracker(int capacity, double quantile) {
+        this.samples = new long[capacity];
+        this.quantile = quantile;
+    }
+
+    public void record(long nanos) {
+        long[] snapshot = null;
+        synchronized (this) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (size < samples.length) {
+                size++;
+            }
+            if (++sinceRecompute >= RECOMPUTE_EVERY) {
+                sinceRecompute = 0;
+                snapshot = Arrays.copyOf(samples, size);
+            }
+        }
+        if (snapshot != null) {
+            Arrays.sort(snapshot);
+            quantileNanos = snapshot[(int) Math.min(snapshot.length - 1, Math.floor(quantile * snapshot.length))];
+        }
+    }
+
+    /**
+     * @return the latency quantile in nanoseconds, or -1 until enough samples were recorded
+     */
+    public long quantileNanos() {
+        return quantileNanos;
+    }
+}
@@ -0,0 +1,28 @@
+package com.corporatebanking.gateway;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Reflection registrations for the native build ({@code -Pnative}). Resources return untyped
+ * {@code Response}s, so Quarkus cannot see which DTOs Jackson serializes; request bodies are
+ * method parameters and are registered automatically.
+ */
+@RegisterForReflection(targets = {
+        AuthGatewayResource.TokenResponseDTO.class,
+        AuthGatewayResource.TokenValidationResponseDTO.class,
+        AuthGatewayResource.UserInfoResponseDTO.class,
+        AuthGatewayResource.PermissionResponseDTO.class,
+        AuthGatewayResource.CheckPermissionsResponseDTO.class,
+        AuthGatewayResource.PermissionResultDTO.class,
+        AuthGatewayResource.SuccessResponse.class,
+        AuthGatewayResource.ErrorResponse.class,
+        UserGatewayResource.UserResponseDTO.class,
+        UserGatewayResource.ListUsersResponseDTO.class,
+        UserGatewayResource.SuccessResponse.class,
+        UserGatewayResource.ErrorResponse.class
+})
+public final class NativeImage {
+
+    private NativeImage() {
+    }
+}
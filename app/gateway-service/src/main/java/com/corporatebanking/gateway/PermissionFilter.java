@@ -0,0 +1,82 @@
+package com.corporatebanking.gateway;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.logging.Logger;
+
+@Provider
+@Priority(Priorities.AUTHORIZATION)
+public class PermissionFilter implements ContainerRequestFilter {
+
+    private static final Logger LOG = Logger.getLogger(PermissionFilter.class);
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    AuthorizationDecisions decisions;
+
+    @Inject
+    AuthenticatedPrincipal principal;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        RequiresPermission required = resourceInfo.getResourceMethod().getAnnotation(RequiresPermission.class);
+        if (required == null) {
+            required = resourceInfo.getResourceClass().getAnnotation(RequiresPermission.class);
+        }
+        if (required == null) {
+            return;
+        }
+
+        String authHeader = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
+        if (!principal.isAuthenticated() || authHeader == null || !authHeader.startsWith("Bearer ")) {
+            requestContext.abortWith(
+                Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("{\"error\":\"Missing or invalid Authorization header\"}")
+                    .build()
+            );
+            return;
+        }
+
+        try {
+            String token = authHeader.substring(7).trim();
+            if (decisions.isGranted(token, required.resource(), required.scope())) {
+                return;
+            }
+            if (isSelf(requestContext, required) && decisions.isGranted(token, required.self(), required.scope())) {
+                principal.grantedForSelfOnly();
+                return;
+            }
+            LOG.warnf("Permission %s:%s denied for user: %s", required.resource(), required.scope(), principal.username());
+            requestContext.abortWith(
+                Response.status(Response.Status.FORBIDDEN)
+                    .entity("{\"error\":\"Permission denied\"}")
+                    .build()
+            );
+        } catch (DownstreamUnavailableException e) {
+            LOG.warnf("Permission check unavailable: %s", e.getMessage());
+            requestContext.abortWith(e.toResponse("{\"error\":\"" + e.getMessage() + "\"}"));
+        } catch (Exception e) {
+            LOG.errorf(e, "Permission check error");
+            requestContext.abortWith(
+                Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"Permission check failed: " + e.getMessage() + "\"}")
+                    .build()
+            );
+        }
+    }
+
+    private boolean isSelf(ContainerRequestContext requestContext, RequiresPermission required) {
+        return !required.self().isEmpty()
+                && principal.userId().equals(requestContext.getUriInfo().getPathParameters().getFirst("userId"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.corporatebanking.gateway;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, typically inside a
+ * {@code synchronized} block or a native frame such as the JDBC driver's. Pinned time is
+ * recorded in {@code virtual_thread_pinned} by the first non-JDK frame, and each new location
+ * is logged once with its stack. Only active when virtual threads are enabled.
+ */
+@ApplicationScoped
+public class PinningMonitor {
+
+    private static final Logger LOG = Logger.getLogger(PinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    @ConfigProperty(name = "quarkus.virtual-threads.enabled", defaultValue = "false")
+    boolean virtualThreads;
+
+    @ConfigProperty(name = "virtual-threads.pinning.threshold", defaultValue = "PT0.02S")
+    Duration threshold;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!virtualThreads) {
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            LOG.warnf("Virtual threads requested on Java %d; blocking work stays on the worker pool",
+                    Runtime.version().feature());
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String location = location(stackTrace);
+        registry.timer("virtual_thread_pinned", "location", location).record(event.getDuration());
+
+        if (reported.add(location)) {
+            StringBuilder stack = new StringBuilder();
+            if (stackTrace != null) {
+                stackTrace.getFrames().stream().limit(LOGGED_FRAMES).forEach(frame -> stack.append("\n\tat ")
+                        .append(frame.getMethod().getType().getName()).append('.')
+                        .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber()));
+            }
+            LOG.warnf("Virtual thread pinned for %d ms at %s%s", event.getDuration().toMillis(), location, stack);
+        }
+    }
+
+    private static String location(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+}
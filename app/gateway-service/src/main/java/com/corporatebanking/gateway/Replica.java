@@ -0,0 +1,86 @@
+package com.corporatebanking.gateway;
+
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * One backend instance with its channel, the number of calls in flight on it and its passive
+ * health. Consecutive backend failures eject the replica for an exponentially growing period.
+ */
+public class Replica {
+
+    private static final Logger LOG = Logger.getLogger(Replica.class);
+
+    private final ReplicaAddress address;
+    private final ManagedChannel channel;
+    private final GatewayConfig.Ejection ejection;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongSupplier clock;
+
+    private int consecutiveFailures;
+    private int ejections;
+    private volatile long ejectedUntil;
+
+    public Replica(ReplicaAddress address, ManagedChannel channel, GatewayConfig.Ejection ejection) {
+        this(address, channel, ejection, System::nanoTime);
+    }
+
+    /**
+     * @param clock nanosecond time source, {@link System#nanoTime()} outside tests
+     */
+    Replica(ReplicaAddress address, ManagedChannel channel, GatewayConfig.Ejection ejection, LongSupplier clock) {
+        this.address = address;
+        this.channel = channel;
+        this.ejection = ejection;
+        this.clock = clock;
+    }
+
+    public ReplicaAddress address() {
+        return address;
+    }
+
+    public ManagedChannel channel() {
+        return channel;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public boolean available(long now) {
+        if (ejectedUntil - now > 0) {
+            return false;
+        }
+        ConnectivityState state = channel.getState(false);
+        return state != ConnectivityState.TRANSIENT_FAILURE && state != ConnectivityState.SHUTDOWN;
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        ejections = 0;
+    }
+
+    synchronized void onFailure() {
+        if (++consecutiveFailures < ejection.consecutiveFailures()) {
+            return;
+        }
+        long duration = Math.min(ejection.baseDuration().toNanos() << Math.min(ejections, 16),
+                ejection.maxDuration().toNanos());
+        ejectedUntil = clock.getAsLong() + duration;
+        ejections++;
+        consecutiveFailures = 0;
+        LOG.warnf("Ejected replica %s for %d ms after repeated failures", address, duration / 1_000_000L);
+    }
+}
@@ -0,0 +1,18 @@
+package com.corporatebanking.gateway;
+
+public record ReplicaAddress(String host, int port) {
+
+    public static ReplicaAddress parse(String value) {
+        String trimmed = value.trim();
+        int separator = trimmed.lastIndexOf(':');
+        if (separator <= 0 || separator == trimmed.length() - 1) {
+            throw new IllegalArgumentException("Expected host:port but got: " + value);
+        }
+        return new ReplicaAddress(trimmed.substring(0, separator), Integer.parseInt(trimmed.substring(separator + 1)));
+    }
+
+    @Override
+    public String toString() {
+        return host + ":" + port;
+    }
+}
@@ -0,0 +1,18 @@
+package com.corporatebanking.gateway;
+
+import java.util.List;
+
+/**
+ * Source of the current replica set of one backend.
+ */
+public interface ReplicaDiscovery {
+
+    List<ReplicaAddress> resolve() throws Exception;
+
+    /**
+     * Whether the result can change over time and should be polled.
+     */
+    default boolean dynamic() {
+        return true;
+    }
+}
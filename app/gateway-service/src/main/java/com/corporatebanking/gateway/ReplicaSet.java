@@ -0,0 +1,206 @@
+package com.corporatebanking.gateway;
+
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import jakarta.ws.rs.core.Response;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Current replicas of one backend. Membership comes from a {@link ReplicaDiscovery}; calls are
+ * sent to the available replica with the fewest calls in flight or, in affinity mode, to the
+ * owner of the call's key on a consistent-hash ring.
+ */
+public class ReplicaSet {
+
+    private static final Logger LOG = Logger.getLogger(ReplicaSet.class);
+
+    private final Downstream downstream;
+    private final ReplicaDiscovery discovery;
+    private final GatewayConfig.Ejection ejection;
+    private final GatewayConfig.Affinity affinity;
+    private final boolean affinityRouting;
+    private final ClientInterceptor[] interceptors;
+    private final AtomicLong affinityHits = new AtomicLong();
+    private final AtomicLong affinitySpills = new AtomicLong();
+
+    private volatile List<Replica> replicas = List.of();
+    private volatile ConsistentHashRing ring;
+
+    public ReplicaSet(Downstream downstream, ReplicaDiscovery discovery, String routing,
+                      GatewayConfig.Ejection ejection, GatewayConfig.Affinity affinity,
+                      ClientInterceptor... interceptors) {
+        this.downstream = downstream;
+        this.discovery = discovery;
+        this.ejection = ejection;
+        this.affinity = affinity;
+        this.affinityRouting = "affinity".equals(routing);
+        this.interceptors = interceptors;
+    }
+
+    public Downstream downstream() {
+        return downstream;
+    }
+
+    public ReplicaDiscovery discovery() {
+        return discovery;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Keyed calls sent to the key's owner on the ring.
+     */
+    public long affinityHits() {
+        return affinityHits.get();
+    }
+
+    /**
+     * Keyed calls sent elsewhere because the owner was unavailable, excluded or over its load bound.
+     */
+    public long affinitySpills() {
+        return affinitySpills.get();
+    }
+
+    public void refresh() {
+        try {
+            update(discovery.resolve());
+        } catch (Exception e) {
+            LOG.warnf("Could not resolve replicas of %s, keeping %d known: %s",
+                    downstream.clientName(), replicas.size(), e.getMessage());
+        }
+    }
+
+    synchronized void update(List<ReplicaAddress> addresses) {
+        Map<ReplicaAddress, Replica> existing = new HashMap<>();
+        for (Replica replica : replicas) {
+            existing.put(replica.address(), replica);
+        }
+
+        Set<ReplicaAddress> wanted = new LinkedHashSet<>(addresses);
+        if (wanted.equals(existing.keySet())) {
+            return;
+        }
+        if (wanted.isEmpty()) {
+            // Every instance failing its health check at once more likely means a discovery or
+            // health-check problem than a dead backend; dropping them all would fail every call.
+            LOG.warnf("Discovery returned no replicas of %s, keeping %d known",
+                    downstream.clientName(), existing.size());
+            return;
+        }
+
+        List<Replica> next = new ArrayList<>(wanted.size());
+        for (ReplicaAddress address : wanted) {
+            Replica replica = existing.remove(address);
+            next.add(replica != null ? replica : new Replica(address, openChannel(address), ejection));
+        }
+        if (affinityRouting) {
+            ring = new ConsistentHashRing(next, affinity.virtualNodes());
+        }
+        replicas = List.copyOf(next);
+        for (Replica removed : existing.values()) {
+            removed.channel().shutdown();
+        }
+        LOG.infof("Replicas of %s: %s", downstream.clientName(), wanted);
+    }
+
+    /**
+     * Picks the replica for a call. With affinity routing and a key, that is the first available
+     * replica at or after the key on the ring whose load is within the configured bound, so the
+     * same user keeps landing on the same replica. Otherwise it is the available replica with the
+     * fewest calls in flight, ties broken at random. {@code exclude} is avoided when another replica
+     * exists, so that a hedge goes elsewhere. When every replica is ejected the least loaded one
+     * is used anyway.
+     */
+    public Replica pick(String key, Replica exclude) {
+        List<Replica> current = replicas;
+        if (current.isEmpty()) {
+            throw new DownstreamUnavailableException(Response.Status.SERVICE_UNAVAILABLE,
+                    "No replicas known for " + downstream.clientName());
+        }
+
+        long now = System.nanoTime();
+        ConsistentHashRing currentRing = ring;
+        if (affinityRouting && key != null && currentRing != null && !currentRing.isEmpty()) {
+            Replica owner = ringOwner(currentRing, current, key, exclude, now);
+            if (owner != null) {
+                return owner;
+            }
+        }
+
+        Replica best = leastLoaded(current, exclude, now, true);
+        if (best == null) {
+            best = leastLoaded(current, exclude, now, false);
+        }
+        return best != null ? best : exclude;
+    }
+
+    public void shutdown() {
+        for (Replica replica : replicas) {
+            replica.channel().shutdown();
+        }
+    }
+
+    private Replica ringOwner(ConsistentHashRing currentRing, List<Replica> current, String key,
+                              Replica exclude, long now) {
+        int total = 0;
+        for (Replica replica : current) {
+            total += replica.outstanding();
+        }
+        double bound = Math.max(1.0, Math.ceil(affinity.loadFactor() * (total + 1) / current.size()));
+
+        int start = currentRing.position(key);
+        for (int i = 0; i < currentRing.size(); i++) {
+            Replica candidate = currentRing.ownerAt(start + i);
+            if (candidate == exclude || !candidate.available(now) || candidate.outstanding() + 1 > bound) {
+                continue;
+            }
+            if (i == 0) {
+                affinityHits.incrementAndGet();
+            } else {
+                affinitySpills.incrementAndGet();
+            }
+            return candidate;
+        }
+        affinitySpills.incrementAndGet();
+        return null;
+    }
+
+    private static Replica leastLoaded(List<Replica> candidates, Replica exclude, long now, boolean availableOnly) {
+        Replica best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        int ties = 0;
+        for (Replica replica : candidates) {
+            if (replica == exclude || (availableOnly && !replica.available(now))) {
+                continue;
+            }
+            int load = replica.outstanding();
+            if (load < bestLoad) {
+                best = replica;
+                bestLoad = load;
+                ties = 1;
+            } else if (load == bestLoad && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    private ManagedChannel openChannel(ReplicaAddress address) {
+        return ManagedChannelBuilder.forAddress(address.host(), address.port())
+                .usePlaintext()
+                .intercept(interceptors)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.corporatebanking.gateway;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+
+@RequestScoped
+public class RequestDeadline {
+
+    @Inject
+    GatewayConfig config;
+
+    private long startedAt;
+
+    /**
+     * Starts the request budget. Called by {@link SecurityFilter} so token validation is
+     * charged to the same budget as the resource call; otherwise the first call starts it.
+     */
+    public void start() {
+        if (startedAt == 0L) {
+            startedAt = System.nanoTime();
+        }
+    }
+
+    public Duration remaining() {
+        start();
+        return config.deadlines().request().minusNanos(System.nanoTime() - startedAt);
+    }
+}
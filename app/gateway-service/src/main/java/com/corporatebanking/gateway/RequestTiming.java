@@ -0,0 +1,26 @@
+package com.corporatebanking.gateway;
+
+import jakarta.enterprise.context.RequestScoped;
+
+@RequestScoped
+public class RequestTiming {
+
+    private ServerTiming timing;
+
+    /**
+     * Starts collecting for this request. Called by {@link ServerTimingFilter} when the
+     * response is to carry a {@code Server-Timing} header.
+     */
+    void start() {
+        if (timing == null) {
+            timing = new ServerTiming();
+        }
+    }
+
+    /**
+     * @return the collector, or null when this request is not timed
+     */
+    public ServerTiming timing() {
+        return timing;
+    }
+}
@@ -0,0 +1,27 @@
+package com.corporatebanking.gateway;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires the caller to hold {@code resource:scope} before the resource method runs. Enforced
+ * by {@link PermissionFilter}; a method annotation overrides one on the class. With
+ * {@link #self()}, a caller acting on their own user (the {@code userId} path parameter) may
+ * hold {@code self:scope} instead.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RequiresPermission {
+
+    String resource();
+
+    String scope();
+
+    /**
+     * Resource checked instead when the {@code userId} path parameter is the caller, e.g.
+     * {@code profile}; empty for none.
+     */
+    String self() default "";
+}
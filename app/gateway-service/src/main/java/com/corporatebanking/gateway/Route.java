@@ -0,0 +1,44 @@
+package com.corporatebanking.gateway;
+
+/**
+ * Gateway routes that call a backend. The key is used for per-route configuration,
+ * e.g. {@code gateway.deadlines.routes.get-user=2s}. Idempotent reads may be hedged.
+ */
+public enum Route {
+    SIGNUP("signup", Downstream.AUTHORIZATION_SERVICE, false),
+    LOGIN("login", Downstream.AUTHORIZATION_SERVICE, false),
+    VALIDATE_TOKEN("validate-token", Downstream.AUTHORIZATION_SERVICE, true),
+    REFRESH_TOKEN("refresh-token", Downstream.AUTHORIZATION_SERVICE, false),
+    USER_INFO("user-info", Downstream.AUTHORIZATION_SERVICE, false),
+    LOGOUT("logout", Downstream.AUTHORIZATION_SERVICE, false),
+    CHECK_PERMISSIONS("check-permissions", Downstream.AUTHORIZATION_SERVICE, true),
+    AUTHENTICATE_REQUEST("authenticate-request", Downstream.AUTHORIZATION_SERVICE, true),
+    CREATE_USER("create-user", Downstream.USER_SERVICE, false),
+    GET_USER("get-user", Downstream.USER_SERVICE, true),
+    UPDATE_USER("update-user", Downstream.USER_SERVICE, false),
+    DELETE_USER("delete-user", Downstream.USER_SERVICE, false),
+    LIST_USERS("list-users", Downstream.USER_SERVICE, true),
+    SEARCH_USERS("search-users", Downstream.USER_SERVICE, true);
+
+    private final String key;
+    private final Downstream downstream;
+    private final boolean idempotentRead;
+
+    Route(String key, Downstream downstream, boolean idempotentRead) {
+        this.key = key;
+        this.downstream = downstream;
+        this.idempotentRead = idempotentRead;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public Downstream downstream() {
+        return downstream;
+    }
+
+    public boolean idempotentRead() {
+        return idempotentRead;
+    }
+}
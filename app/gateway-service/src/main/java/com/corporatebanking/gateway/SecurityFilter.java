@@ -1,8 +1,10 @@
 package com.corporatebanking.gateway;
 
 import com.corporatebanking.authorizationservice.grpc.*;
-import io.quarkus.grpc.GrpcClient;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
 import jakarta.ws.rs.core.HttpHeaders;
@@ -14,6 +16,7 @@ import java.util.Set;
 
 @Provider
 @Singleton
+@Priority(Priorities.AUTHENTICATION)
 public class SecurityFilter implements ContainerRequestFilter {
 
     private static final Logger LOG = Logger.getLogger(SecurityFilter.class);
@@ -26,12 +29,22 @@ public class SecurityFilter implements ContainerRequestFilter {
             "/q/health"
     );
 
-    @GrpcClient("authorization-service")
-    AuthorizationService authorizationService;
+    @Inject
+    Backend<MutinyAuthorizationServiceGrpc.MutinyAuthorizationServiceStub> authorizationService;
+
+    @Inject
+    GrpcCalls grpcCalls;
+
+    @Inject
+    RequestDeadline requestDeadline;
+
+    @Inject
+    AuthenticatedPrincipal principal;
 
     @Override
     public void filter(ContainerRequestContext requestContext) {
         String path = requestContext.getUriInfo().getPath();
+        requestDeadline.start();
         
         if (PUBLIC_PATHS.contains(path) || path.startsWith("/q/")) {
             return;
@@ -59,7 +72,7 @@ public class SecurityFilter implements ContainerRequestFilter {
                     .setToken(token)
                     .build();
 
-            TokenValidationResponse validation = authorizationService.validateToken(request).await().indefinitely();
+            TokenValidationResponse validation = grpcCalls.call(Route.AUTHENTICATE_REQUEST, authorizationService, s -> s.validateToken(request));
             
             if (!validation.getValid()) {
                 LOG.warnf("Invalid token for path: %s", path);
@@ -74,9 +87,14 @@ public class SecurityFilter implements ContainerRequestFilter {
             requestContext.setProperty("userId", validation.getUserId());
             requestContext.setProperty("username", validation.getUsername());
             requestContext.setProperty("roles", validation.getRolesList());
+            principal.set(validation.getUserId(), validation.getUsername(), validation.getRolesList(),
+                    validation.getExpiresAt());
             
             LOG.debugf("Token validated successfully for user: %s accessing: %s", validation.getUsername(), path);
             
+        } catch (DownstreamUnavailableException e) {
+            LOG.warnf("Token validation unavailable for path: %s - %s", path, e.getMessage());
+            requestContext.abortWith(e.toResponse("{\"error\":\"" + e.getMessage() + "\"}"));
         } catch (Exception e) {
             LOG.errorf(e, "Token validation error for path: %s", path);
             requestContext.abortWith(
@@ -0,0 +1,49 @@
+package com.corporatebanking.gateway;
+
+/**
+ * Phase durations of one gateway request, rendered as a W3C {@code Server-Timing} header value
+ * with a final {@code total} entry. Backend calls add their entries from gRPC threads.
+ */
+public final class ServerTiming {
+
+    private final long startedAt = System.nanoTime();
+    private final StringBuilder entries = new StringBuilder(128);
+
+    public synchronized void add(String name, long nanos, String description) {
+        separate();
+        appendDuration(entries.append(name), nanos);
+        if (description != null) {
+            entries.append(";desc=\"").append(description).append('"');
+        }
+    }
+
+    /**
+     * Appends entries reported by a backend, already in header syntax.
+     */
+    public synchronized void addAll(String headerValue) {
+        if (!headerValue.isEmpty()) {
+            separate();
+            entries.append(headerValue);
+        }
+    }
+
+    public synchronized String header() {
+        StringBuilder header = new StringBuilder(entries.length() + 20).append(entries);
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append("total");
+        return appendDuration(header, System.nanoTime() - startedAt).toString();
+    }
+
+    private void separate() {
+        if (!entries.isEmpty()) {
+            entries.append(", ");
+        }
+    }
+
+    // Milliseconds with one decimal, without going through String.format.
+    static StringBuilder appendDuration(StringBuilder builder, long nanos) {
+        return builder.append(";dur=").append(nanos / 1_000_000).append('.').append(nanos / 100_000 % 10);
+    }
+}
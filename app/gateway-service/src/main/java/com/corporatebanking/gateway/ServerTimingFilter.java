@@ -0,0 +1,82 @@
+package com.corporatebanking.gateway;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Emits the {@code Server-Timing} header for timed requests: token validation and backend calls
+ * (recorded by {@link GrpcCalls}, including the backends' own query, bcrypt and JWT timings),
+ * JSON serialisation and the total. Runs before {@link SecurityFilter} so token validation is
+ * included. To time serialisation, the body of a timed request is buffered so the header can be
+ * set after it is written; untimed requests are streamed as before.
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION - 100)
+public class ServerTimingFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    static final String DEBUG_HEADER = "X-Server-Timing";
+    static final String HEADER = "Server-Timing";
+
+    @Inject
+    GatewayConfig config;
+
+    @Inject
+    RequestTiming requestTiming;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (config.serverTiming().enabled() || hasDebugToken(requestContext.getHeaderString(DEBUG_HEADER))) {
+            requestTiming.start();
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        ServerTiming timing = requestTiming.timing();
+        if (timing != null && !responseContext.hasEntity()) {
+            responseContext.getHeaders().putSingle(HEADER, timing.header());
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        ServerTiming timing = requestTiming.timing();
+        if (timing == null) {
+            context.proceed();
+            return;
+        }
+        OutputStream out = context.getOutputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        context.setOutputStream(body);
+        long start = System.nanoTime();
+        try {
+            context.proceed();
+        } finally {
+            context.setOutputStream(out);
+        }
+        timing.add("serialize", System.nanoTime() - start, null);
+        context.getHeaders().putSingle(HEADER, timing.header());
+        body.writeTo(out);
+    }
+
+    private boolean hasDebugToken(String value) {
+        return value != null && config.serverTiming().debugToken()
+                .map(token -> MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                        value.getBytes(StandardCharsets.UTF_8)))
+                .orElse(false);
+    }
+}
@@ -0,0 +1,46 @@
+package com.corporatebanking.gateway;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Asks the backend for its timings on calls that carry a {@link ServerTiming} in their call
+ * options, and adds what comes back in the {@code server-timing} trailer to it.
+ */
+public class ServerTimingInterceptor implements ClientInterceptor {
+
+    static final CallOptions.Key<ServerTiming> TIMING = CallOptions.Key.create("server-timing");
+    static final Metadata.Key<String> METADATA = Metadata.Key.of("server-timing", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        ServerTiming timing = callOptions.getOption(TIMING);
+        if (timing == null) {
+            return next.newCall(method, callOptions);
+        }
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                headers.put(METADATA, "1");
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        String reported = trailers.get(METADATA);
+                        if (reported != null) {
+                            timing.addAll(reported);
+                        }
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.corporatebanking.gateway;
+
+/**
+ * Approximate count of events over a sliding window, kept as two fixed-window counters: the
+ * previous window is weighted by how much of it still overlaps the sliding window.
+ */
+public class SlidingWindowCounter {
+
+    private final long windowNanos;
+    private long windowStart;
+    private int current;
+    private int previous;
+
+    public SlidingWindowCounter(long windowNanos, long now) {
+        this.windowNanos = windowNanos;
+        this.windowStart = now;
+    }
+
+    public synchronized void increment(long now) {
+        roll(now);
+        current++;
+    }
+
+    public synchronized int count(long now) {
+        roll(now);
+        double overlap = 1.0 - (double) (now - windowStart) / windowNanos;
+        return (int) Math.ceil(previous * overlap) + current;
+    }
+
+    public synchronized void reset() {
+        current = 0;
+        previous = 0;
+    }
+
+    /**
+     * Nanoseconds until the current window closes, after which the count starts to fall.
+     */
+    public synchronized long untilRoll(long now) {
+        roll(now);
+        return windowStart + windowNanos - now;
+    }
+
+    public synchronized boolean isEmpty(long now) {
+        roll(now);
+        return current == 0 && previous == 0;
+    }
+
+    private void roll(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < windowNanos) {
+            return;
+        }
+        previous = elapsed < 2 * windowNanos ? current : 0;
+        current = 0;
+        windowStart += (elapsed / windowNanos) * windowNanos;
+    }
+}
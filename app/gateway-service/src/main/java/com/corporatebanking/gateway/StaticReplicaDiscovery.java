@@ -0,0 +1,22 @@
+package com.corporatebanking.gateway;
+
+import java.util.List;
+
+public class StaticReplicaDiscovery implements ReplicaDiscovery {
+
+    private final List<ReplicaAddress> replicas;
+
+    public StaticReplicaDiscovery(List<ReplicaAddress> replicas) {
+        this.replicas = List.copyOf(replicas);
+    }
+
+    @Override
+    public List<ReplicaAddress> resolve() {
+        return replicas;
+    }
+
+    @Override
+    public boolean dynamic() {
+        return false;
+    }
+}
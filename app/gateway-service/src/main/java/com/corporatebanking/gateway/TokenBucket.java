@@ -0,0 +1,45 @@
+package com.corporatebanking.gateway;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (GCRA): each permit pushes
+ * it forward by one emission interval, and a permit is refused when that would put it more
+ * than one full period ahead of now.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long periodNanos;
+    private final AtomicLong arrival;
+
+    public TokenBucket(int capacity, long periodNanos, long now) {
+        this.periodNanos = periodNanos;
+        this.intervalNanos = Math.max(1L, periodNanos / capacity);
+        this.arrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > periodNanos) {
+                return ahead - periodNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * A full bucket carries no state worth keeping.
+     */
+    public boolean isFull(long now) {
+        return arrival.get() - now <= 0;
+    }
+}
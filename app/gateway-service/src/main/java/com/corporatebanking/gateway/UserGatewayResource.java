@@ -1,7 +1,8 @@
 package com.corporatebanking.gateway;
 
 import com.corporatebanking.userservice.grpc.*;
-import io.quarkus.grpc.GrpcClient;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -10,6 +11,7 @@ import org.jboss.logging.Logger;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@RunOnVirtualThread
 @Path("/api/v1/users")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -17,11 +19,32 @@ public class UserGatewayResource {
 
     private static final Logger LOG = Logger.getLogger(UserGatewayResource.class);
 
-    @GrpcClient("user-service")
-    UserService userService;
+    @Inject
+    Backend<MutinyUserServiceGrpc.MutinyUserServiceStub> userService;
+
+    @Inject
+    GrpcCalls grpcCalls;
+
+    @Inject
+    AuthenticatedPrincipal principal;
+
+    @Inject
+    IdempotencyStore idempotency;
+
+    @Inject
+    LogSampler logSampler;
 
     @POST
-    public Response createUser(CreateUserRequestDTO request) {
+    @RequiresPermission(resource = "users", scope = "create")
+    public Response createUser(CreateUserRequestDTO request,
+                               @HeaderParam(IdempotencyStore.HEADER) String idempotencyKey) {
+        return idempotency.execute(Route.CREATE_USER.key() + '|' + principal.userId(), idempotencyKey,
+                IdempotencyStore.fingerprint(request.email, request.firstName, request.lastName,
+                        request.phoneNumber, request.role),
+                () -> doCreateUser(request));
+    }
+
+    private Response doCreateUser(CreateUserRequestDTO request) {
         try {
             LOG.infof("Creating user via gateway: %s", request.email);
             
@@ -33,10 +56,49 @@ public class UserGatewayResource {
                     .setRole(request.role)
                     .build();
 
-            UserResponse response = userService.createUser(grpcRequest).await().indefinitely();
+            UserResponse response = grpcCalls.call(Route.CREATE_USER, userService, s -> s.createUser(grpcRequest));
             return Response.ok(toDTO(response)).status(Response.Status.CREATED).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            LOG.errorf(e, "Error creating user");
+            Response.Status status = GrpcCalls.errorStatus(e);
+            if (status == Response.Status.INTERNAL_SERVER_ERROR) {
+                LOG.errorf(e, "Error creating user");
+            } else {
+                LOG.warnf("Create user rejected: %s", e.getMessage());
+            }
+            return Response.status(status)
+                    .entity(new ErrorResponse(e.getMessage())).build();
+        }
+    }
+
+    @GET
+    @Path("/search")
+    @RequiresPermission(resource = "users", scope = "read")
+    public Response searchUsers(@QueryParam("q") String query,
+                                @QueryParam("limit") @DefaultValue("10") int limit) {
+        if (query == null || query.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Query parameter q is required")).build();
+        }
+        try {
+            SearchUsersRequest request = SearchUsersRequest.newBuilder()
+                    .setQuery(query)
+                    .setLimit(limit)
+                    .build();
+
+            // Every replica holds the full index, so there is nothing to gain from affinity here.
+            SearchUsersResponse response = grpcCalls.call(Route.SEARCH_USERS, userService, s -> s.searchUsers(request));
+            List<UserResponseDTO> users = response.getUsersList().stream()
+                    .map(this::toDTO)
+                    .collect(Collectors.toList());
+            return Response.ok(users).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            LOG.errorf(e, "Error searching users");
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(new ErrorResponse(e.getMessage())).build();
         }
@@ -44,16 +106,22 @@ public class UserGatewayResource {
 
     @GET
     @Path("/{userId}")
+    @RequiresPermission(resource = "users", scope = "read")
     public Response getUser(@PathParam("userId") String userId) {
         try {
-            LOG.infof("Getting user via gateway: %s", userId);
+            if (logSampler.sample("getUser")) {
+                LOG.infof("Getting user via gateway: %s", userId);
+            }
             
             GetUserRequest request = GetUserRequest.newBuilder()
                     .setUserId(userId)
                     .build();
 
-            UserResponse response = userService.getUser(request).await().indefinitely();
+            UserResponse response = grpcCalls.call(Route.GET_USER, userService, userId, s -> s.getUser(request));
             return Response.ok(toDTO(response)).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             LOG.errorf(e, "Error getting user: %s", userId);
             return Response.status(Response.Status.NOT_FOUND)
@@ -63,7 +131,14 @@ public class UserGatewayResource {
 
     @PUT
     @Path("/{userId}")
+    @RequiresPermission(resource = "users", scope = "update", self = "profile")
     public Response updateUser(@PathParam("userId") String userId, UpdateUserRequestDTO request) {
+        // Editing one's own profile does not extend to one's own role.
+        if (principal.selfOnly() && request.role != null && !request.role.isBlank()) {
+            LOG.warnf("Role change on own profile denied for user: %s", principal.username());
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse("Changing a role requires users:update")).build();
+        }
         try {
             LOG.infof("Updating user via gateway: %s", userId);
             
@@ -76,17 +151,26 @@ public class UserGatewayResource {
                     .setRole(request.role != null ? request.role : "")
                     .build();
 
-            UserResponse response = userService.updateUser(grpcRequest).await().indefinitely();
+            UserResponse response = grpcCalls.call(Route.UPDATE_USER, userService, userId, s -> s.updateUser(grpcRequest));
             return Response.ok(toDTO(response)).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
-            LOG.errorf(e, "Error updating user: %s", userId);
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+            Response.Status status = GrpcCalls.errorStatus(e);
+            if (status == Response.Status.INTERNAL_SERVER_ERROR) {
+                LOG.errorf(e, "Error updating user: %s", userId);
+            } else {
+                LOG.warnf("Update of user %s rejected: %s", userId, e.getMessage());
+            }
+            return Response.status(status)
                     .entity(new ErrorResponse(e.getMessage())).build();
         }
     }
 
     @DELETE
     @Path("/{userId}")
+    @RequiresPermission(resource = "users", scope = "delete")
     public Response deleteUser(@PathParam("userId") String userId) {
         try {
             LOG.infof("Deleting user via gateway: %s", userId);
@@ -95,13 +179,16 @@ public class UserGatewayResource {
                     .setUserId(userId)
                     .build();
 
-            DeleteUserResponse response = userService.deleteUser(request).await().indefinitely();
+            DeleteUserResponse response = grpcCalls.call(Route.DELETE_USER, userService, userId, s -> s.deleteUser(request));
             if (response.getSuccess()) {
                 return Response.ok(new SuccessResponse(response.getMessage())).build();
             } else {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(new ErrorResponse(response.getMessage())).build();
             }
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             LOG.errorf(e, "Error deleting user: %s", userId);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -110,6 +197,7 @@ public class UserGatewayResource {
     }
 
     @GET
+    @RequiresPermission(resource = "users", scope = "read")
     public Response listUsers(@QueryParam("page") @DefaultValue("1") int page,
                               @QueryParam("pageSize") @DefaultValue("10") int pageSize) {
         try {
@@ -120,7 +208,7 @@ public class UserGatewayResource {
                     .setPageSize(pageSize)
                     .build();
 
-            ListUsersResponse response = userService.listUsers(request).await().indefinitely();
+            ListUsersResponse response = grpcCalls.call(Route.LIST_USERS, userService, s -> s.listUsers(request));
             ListUsersResponseDTO dto = new ListUsersResponseDTO();
             dto.users = response.getUsersList().stream()
                     .map(this::toDTO)
@@ -130,6 +218,9 @@ public class UserGatewayResource {
             dto.pageSize = response.getPageSize();
             
             return Response.ok(dto).build();
+        } catch (DownstreamUnavailableException e) {
+            LOG.warn(e.getMessage());
+            return e.toResponse(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             LOG.errorf(e, "Error listing users");
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -137,7 +228,7 @@ public class UserGatewayResource {
         }
     }
 
-    private UserResponseDTO toDTO(UserResponse grpc) {
+    UserResponseDTO toDTO(UserResponse grpc) {
         UserResponseDTO dto = new UserResponseDTO();
         dto.userId = grpc.getUserId();
         dto.email = grpc.getEmail();
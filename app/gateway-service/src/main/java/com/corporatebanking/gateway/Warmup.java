@@ -0,0 +1,196 @@
+package com.corporatebanking.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import grpc.health.v1.HealthGrpc;
+import grpc.health.v1.HealthOuterClass.HealthCheckRequest;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connects to every backend replica and runs the call and serialization paths once after
+ * startup - gRPC health checks over each channel and Jackson round trips of the response DTOs -
+ * so the first real requests don't pay for channel setup, class loading and interpreted code.
+ * Readiness on {@code /q/health/ready} stays DOWN until it has finished or
+ * {@code warmup.timeout} has passed.
+ */
+@Readiness
+@ApplicationScoped
+public class Warmup implements HealthCheck {
+
+    private static final Logger LOG = Logger.getLogger(Warmup.class);
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration CHECK_DEADLINE = Duration.ofSeconds(2);
+    private static final int PAGE_SIZE = 20;
+
+    @ConfigProperty(name = "warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "warmup.iterations", defaultValue = "200")
+    int iterations;
+
+    @ConfigProperty(name = "warmup.timeout", defaultValue = "PT2M")
+    Duration timeout;
+
+    @Inject
+    Backends backends;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private volatile String step = "pending";
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            step = "disabled";
+            done.complete(null);
+            return;
+        }
+        done.completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        Thread thread = new Thread(this::run, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("warmup").status(done.isDone()).withData("step", step).build();
+    }
+
+    private void run() {
+        long started = System.nanoTime();
+        step("channels", this::connectChannels);
+        step("backends", this::checkBackends);
+        step("json", this::serialize);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        if (done.complete(null)) {
+            step = "done";
+            LOG.infof("Warm-up finished in %d ms", elapsedMs);
+        } else {
+            LOG.warnf("Warm-up did not finish within %s and was reported ready at step %s", timeout, step);
+        }
+    }
+
+    private void step(String name, Step work) {
+        if (done.isDone()) {
+            return;
+        }
+        step = name;
+        long started = System.nanoTime();
+        try {
+            work.run();
+            LOG.infof("Warm-up step %s took %d ms", name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            LOG.warnf("Warm-up step %s failed: %s", name, e.getMessage());
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    // Channels connect lazily on their first call; asking for the state with requestConnection
+    // starts the TCP and HTTP/2 handshakes for all replicas at once.
+    private void connectChannels() throws InterruptedException {
+        List<Replica> replicas = new ArrayList<>();
+        for (Downstream downstream : Downstream.values()) {
+            ReplicaSet replicaSet = backends.replicaSet(downstream);
+            // Consul discovery may not have found the replicas yet.
+            while (replicaSet.replicas().isEmpty() && !done.isDone()) {
+                Thread.sleep(100);
+            }
+            replicas.addAll(replicaSet.replicas());
+        }
+        replicas.forEach(replica -> replica.channel().getState(true));
+
+        long deadline = System.nanoTime() + CONNECT_TIMEOUT.toNanos();
+        for (Replica replica : replicas) {
+            ManagedChannel channel = replica.channel();
+            ConnectivityState state;
+            while ((state = channel.getState(true)) != ConnectivityState.READY) {
+                if (System.nanoTime() - deadline > 0 || done.isDone()) {
+                    LOG.warnf("Replica %s did not connect during warm-up (%s)", replica.address(), state);
+                    break;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    // The standard gRPC health service takes the same client path as the API calls without
+    // touching accounts or writing warnings to the backends' logs.
+    private void checkBackends() {
+        for (Downstream downstream : Downstream.values()) {
+            for (Replica replica : backends.replicaSet(downstream).replicas()) {
+                if (replica.channel().getState(false) != ConnectivityState.READY) {
+                    continue;
+                }
+                HealthGrpc.HealthBlockingStub health = HealthGrpc.newBlockingStub(replica.channel());
+                for (int i = 0; i < iterations; i++) {
+                    health.withDeadlineAfter(CHECK_DEADLINE.toMillis(), TimeUnit.MILLISECONDS)
+                            .check(HealthCheckRequest.getDefaultInstance());
+                }
+            }
+        }
+    }
+
+    private void serialize() throws Exception {
+        UserGatewayResource.ListUsersResponseDTO page = new UserGatewayResource.ListUsersResponseDTO();
+        page.users = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            UserGatewayResource.UserResponseDTO user = new UserGatewayResource.UserResponseDTO();
+            user.userId = "warmup-" + i;
+            user.email = "warmup-" + i + "@localhost";
+            user.firstName = "Warm";
+            user.lastName = "Up";
+            user.role = "USER";
+            user.createdAt = "2024-01-01T00:00:00";
+            user.updatedAt = user.createdAt;
+            page.users.add(user);
+        }
+        page.totalCount = PAGE_SIZE;
+        page.page = 1;
+        page.pageSize = PAGE_SIZE;
+
+        AuthGatewayResource.TokenValidationResponseDTO validation =
+                new AuthGatewayResource.TokenValidationResponseDTO();
+        validation.valid = true;
+        validation.userId = "warmup-0";
+        validation.username = "warmup-0@localhost";
+        validation.email = validation.username;
+        validation.roles = List.of("USER");
+        validation.expiresAt = System.currentTimeMillis();
+
+        AuthGatewayResource.TokenResponseDTO token = new AuthGatewayResource.TokenResponseDTO();
+        token.accessToken = "warmup";
+        token.refreshToken = "warmup";
+        token.tokenType = "Bearer";
+        token.expiresIn = 3600;
+
+        String login = "{\"username\":\"warmup@localhost\",\"password\":\"warmup\"}";
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValueAsBytes(page);
+            objectMapper.writeValueAsBytes(page.users.get(0));
+            objectMapper.writeValueAsBytes(validation);
+            objectMapper.writeValueAsBytes(token);
+            objectMapper.readValue(login, AuthGatewayResource.LoginRequestDTO.class);
+        }
+    }
+}
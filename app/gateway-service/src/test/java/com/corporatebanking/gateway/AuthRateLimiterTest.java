@@ -0,0 +1,192 @@
+package com.corporatebanking.gateway;
+
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuthRateLimiterTest {
+
+    private static final Duration PERIOD = Duration.ofMinutes(1);
+    private static final Duration FAILURE_WINDOW = Duration.ofMinutes(15);
+
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    void limitsEachClientIp() {
+        AuthRateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("10.0.0.1", "user" + i + "@example.com");
+        }
+        assertRejected(() -> limiter.checkLogin("10.0.0.1", "other@example.com"));
+        assertDoesNotThrow(() -> limiter.checkLogin("10.0.0.2", "other@example.com"));
+    }
+
+    @Test
+    void limitsEachUsernameAcrossIpsIgnoringCase() {
+        AuthRateLimiter limiter = limiter(true, 100);
+        limiter.checkLogin("10.0.0.1", "Alice@Example.com");
+        limiter.checkLogin("10.0.0.2", " alice@example.com");
+        assertRejected(() -> limiter.checkLogin("10.0.0.3", "ALICE@example.com"));
+    }
+
+    @Test
+    void keepsSeparateBucketsPerEndpoint() {
+        AuthRateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.checkRefresh("10.0.0.1");
+        }
+        assertRejected(() -> limiter.checkRefresh("10.0.0.1"));
+        assertDoesNotThrow(() -> limiter.checkSignup("10.0.0.1", "new@example.com"));
+    }
+
+    @Test
+    void refillsAfterPeriod() {
+        AuthRateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.checkRefresh("10.0.0.1");
+        }
+        assertRejected(() -> limiter.checkRefresh("10.0.0.1"));
+        clock.advance(PERIOD.dividedBy(3));
+        assertDoesNotThrow(() -> limiter.checkRefresh("10.0.0.1"));
+    }
+
+    @Test
+    void locksUsernameAfterFailedLoginsUntilTheyExpire() {
+        AuthRateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.loginFailed("bob@example.com");
+        }
+        assertRejected(() -> limiter.checkLogin("10.0.0.9", "BOB@example.com"));
+
+        clock.advance(FAILURE_WINDOW);
+        assertRejected(() -> limiter.checkLogin("10.0.0.9", "bob@example.com"));
+
+        clock.advance(FAILURE_WINDOW.dividedBy(2));
+        assertDoesNotThrow(() -> limiter.checkLogin("10.0.0.9", "bob@example.com"),
+                "half of the previous window's failures still count: ceil(3 * 0.5) = 2");
+    }
+
+    @Test
+    void successfulLoginClearsFailures() {
+        AuthRateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.loginFailed("bob@example.com");
+        }
+        limiter.loginSucceeded("bob@example.com");
+        assertDoesNotThrow(() -> limiter.checkLogin("10.0.0.9", "bob@example.com"));
+    }
+
+    @Test
+    void sweepsIdleEntriesWhenMaxEntriesIsReached() {
+        AuthRateLimiter limiter = limiter(true, 4);
+        for (int i = 0; i < 4; i++) {
+            limiter.checkRefresh("10.0.0." + i);
+        }
+        // Every tracked bucket is still refilling, so the sweep frees nothing.
+        assertRejected(() -> limiter.checkRefresh("10.0.1.1"));
+        assertDoesNotThrow(() -> limiter.checkRefresh("10.0.0.0"), "known keys are still served");
+
+        clock.advance(PERIOD);
+        assertDoesNotThrow(() -> limiter.checkRefresh("10.0.1.1"));
+    }
+
+    @Test
+    void sweepKeepsActiveEntries() {
+        AuthRateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.checkRefresh("10.0.0.1");
+        }
+        limiter.sweep();
+        assertRejected(() -> limiter.checkRefresh("10.0.0.1"));
+    }
+
+    @Test
+    void allowsEverythingWhenDisabled() {
+        AuthRateLimiter limiter = limiter(false, 1);
+        for (int i = 0; i < 10; i++) {
+            limiter.checkLogin("10.0.0.1", "alice@example.com");
+            limiter.loginFailed("alice@example.com");
+        }
+    }
+
+    private static void assertRejected(Executable check) {
+        DownstreamUnavailableException e = assertThrows(DownstreamUnavailableException.class, check);
+        assertEquals(Response.Status.TOO_MANY_REQUESTS, e.getStatus());
+    }
+
+    private AuthRateLimiter limiter(boolean enabled, int maxEntries) {
+        GatewayConfig.RateLimit rateLimit = new GatewayConfig.RateLimit() {
+            @Override
+            public boolean enabled() {
+                return enabled;
+            }
+
+            @Override
+            public GatewayConfig.Bucket ip() {
+                return bucket(3);
+            }
+
+            @Override
+            public GatewayConfig.Bucket username() {
+                return bucket(2);
+            }
+
+            @Override
+            public GatewayConfig.FailedLogins failedLogins() {
+                return new GatewayConfig.FailedLogins() {
+                    @Override
+                    public int max() {
+                        return 3;
+                    }
+
+                    @Override
+                    public Duration window() {
+                        return FAILURE_WINDOW;
+                    }
+                };
+            }
+
+            @Override
+            public int maxEntries() {
+                return maxEntries;
+            }
+
+            @Override
+            public Duration sweepInterval() {
+                return Duration.ofSeconds(30);
+            }
+        };
+        AuthRateLimiter limiter = new AuthRateLimiter();
+        // Only the rate-limit section is read.
+        limiter.config = (GatewayConfig) Proxy.newProxyInstance(GatewayConfig.class.getClassLoader(),
+                new Class<?>[]{GatewayConfig.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("rateLimit")) {
+                        return rateLimit;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        limiter.clock = clock;
+        return limiter;
+    }
+
+    private static GatewayConfig.Bucket bucket(int capacity) {
+        return new GatewayConfig.Bucket() {
+            @Override
+            public int capacity() {
+                return capacity;
+            }
+
+            @Override
+            public Duration period() {
+                return PERIOD;
+            }
+        };
+    }
+}
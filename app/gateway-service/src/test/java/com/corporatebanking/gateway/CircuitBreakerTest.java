@@ -0,0 +1,166 @@
+package com.corporatebanking.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN = Duration.ofSeconds(10);
+
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    void staysClosedUntilMinimumCalls() {
+        CircuitBreaker breaker = breaker(10, 5, 0.5, 2);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void opensWhenFailureRatioReachesThreshold() {
+        CircuitBreaker breaker = breaker(4, 4, 0.5, 2);
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void countsOnlyTheLastWindowOfCalls() {
+        CircuitBreaker breaker = breaker(4, 2, 0.75, 2);
+        call(breaker, false);
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "1 of 4 failed");
+
+        // The early failure slides out of the window as successes come in.
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true);
+        }
+        call(breaker, false);
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "2 of the last 4 failed");
+
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(), "3 of the last 4 failed");
+    }
+
+    @Test
+    void failsFastWhileOpen() {
+        CircuitBreaker breaker = opened(3);
+        assertFalse(breaker.tryAcquire());
+        assertEquals(OPEN, breaker.retryAfter());
+
+        clock.advance(Duration.ofSeconds(4));
+        assertFalse(breaker.tryAcquire());
+        assertEquals(Duration.ofSeconds(6), breaker.retryAfter());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void halfOpensAfterOpenDurationAndLimitsProbes() {
+        CircuitBreaker breaker = opened(2);
+        clock.advance(OPEN);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "only halfOpenCalls probes are let through");
+    }
+
+    @Test
+    void closesWhenEveryProbeSucceeds() {
+        CircuitBreaker breaker = opened(2);
+        clock.advance(OPEN);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // Closing starts a fresh window, so one failure is below the minimum again.
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void reopensWhenAProbeFails() {
+        CircuitBreaker breaker = opened(2);
+        clock.advance(OPEN);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(OPEN, breaker.retryAfter(), "the open period restarts from the failed probe");
+    }
+
+    private CircuitBreaker opened(int halfOpenCalls) {
+        CircuitBreaker breaker = breaker(4, 2, 0.5, halfOpenCalls);
+        call(breaker, false);
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        return breaker;
+    }
+
+    private static void call(CircuitBreaker breaker, boolean succeeds) {
+        assertTrue(breaker.tryAcquire());
+        if (succeeds) {
+            breaker.onSuccess();
+        } else {
+            breaker.onFailure();
+        }
+    }
+
+    private CircuitBreaker breaker(int window, int minimumCalls, double failureRatio, int halfOpenCalls) {
+        GatewayConfig.Breaker config = new GatewayConfig.Breaker() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public int window() {
+                return window;
+            }
+
+            @Override
+            public int minimumCalls() {
+                return minimumCalls;
+            }
+
+            @Override
+            public double failureRatio() {
+                return failureRatio;
+            }
+
+            @Override
+            public Duration openDuration() {
+                return OPEN;
+            }
+
+            @Override
+            public int halfOpenCalls() {
+                return halfOpenCalls;
+            }
+        };
+        return new CircuitBreaker("user-service", config, clock);
+    }
+}
@@ -0,0 +1,166 @@
+package com.corporatebanking.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+
+    private static final long RTT = Duration.ofMillis(10).toNanos();
+
+    @Test
+    void rejectsAtTheLimit() {
+        ConcurrencyLimiter limiter = limiter(5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.rejected());
+
+        limiter.release();
+        assertEquals(4, limiter.inFlight());
+        assertEquals(5, limiter.limit(), "a released call is not a sample");
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsUnderStableRttUpToMax() {
+        ConcurrencyLimiter limiter = limiter(20);
+        int previous = limiter.limit();
+        for (int i = 0; i < 10; i++) {
+            saturatedSample(limiter, RTT);
+        }
+        assertTrue(limiter.limit() > previous, "limit " + limiter.limit());
+
+        for (int i = 0; i < 1000; i++) {
+            saturatedSample(limiter, RTT);
+        }
+        assertEquals(50, limiter.limit());
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        ConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSample(RTT, false);
+        }
+        assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    void shrinksWhenRttInflates() {
+        ConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 1000; i++) {
+            saturatedSample(limiter, RTT);
+        }
+        int stable = limiter.limit();
+
+        for (int i = 0; i < 20; i++) {
+            saturatedSample(limiter, 10 * RTT);
+        }
+        assertTrue(limiter.limit() < stable, stable + " -> " + limiter.limit());
+
+        for (int i = 0; i < 1000; i++) {
+            saturatedSample(limiter, 10 * RTT);
+        }
+        assertTrue(limiter.limit() >= 4);
+    }
+
+    @Test
+    void toleratesRttWithinTolerance() {
+        ConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 1000; i++) {
+            saturatedSample(limiter, RTT);
+        }
+        int stable = limiter.limit();
+
+        for (int i = 0; i < 50; i++) {
+            saturatedSample(limiter, RTT * 14 / 10);
+        }
+        assertEquals(stable, limiter.limit());
+    }
+
+    @Test
+    void backsOffOnDropsDownToMin() {
+        ConcurrencyLimiter limiter = limiter(20);
+        assertTrue(limiter.tryAcquire());
+        limiter.onSample(RTT, true);
+        assertEquals(18, limiter.limit());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSample(RTT, true);
+        }
+        assertEquals(4, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void clampsInitialLimit() {
+        assertEquals(4, limiter(1).limit());
+        assertEquals(50, limiter(80).limit());
+    }
+
+    // Fills the limit, then completes one call, so the limit is always in use when sampled.
+    private static void saturatedSample(ConcurrencyLimiter limiter, long rttNanos) {
+        while (limiter.tryAcquire()) {
+            // Take every free slot.
+        }
+        limiter.onSample(rttNanos, false);
+    }
+
+    private static ConcurrencyLimiter limiter(int initialLimit) {
+        GatewayConfig.Concurrency config = new GatewayConfig.Concurrency() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public int initialLimit() {
+                return initialLimit;
+            }
+
+            @Override
+            public int minLimit() {
+                return 4;
+            }
+
+            @Override
+            public int maxLimit() {
+                return 50;
+            }
+
+            @Override
+            public double smoothing() {
+                return 0.2;
+            }
+
+            @Override
+            public double rttTolerance() {
+                return 1.5;
+            }
+
+            @Override
+            public int longWindow() {
+                return 600;
+            }
+
+            @Override
+            public double backoffRatio() {
+                return 0.9;
+            }
+
+            @Override
+            public Duration retryAfter() {
+                return Duration.ofSeconds(1);
+            }
+        };
+        return new ConcurrencyLimiter("user-service", config);
+    }
+}
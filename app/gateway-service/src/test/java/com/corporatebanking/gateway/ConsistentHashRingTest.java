@@ -0,0 +1,94 @@
+package com.corporatebanking.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final int VIRTUAL_NODES = 160;
+    private static final int KEYS = 20_000;
+
+    @Test
+    void emptyWithoutReplicas() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), VIRTUAL_NODES);
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void placesVirtualNodesForEveryReplica() {
+        assertEquals(3 * VIRTUAL_NODES, new ConsistentHashRing(replicas(3), VIRTUAL_NODES).size());
+    }
+
+    @Test
+    void mapsTheSameKeyToTheSameReplica() {
+        List<Replica> replicas = replicas(4);
+        ConsistentHashRing ring = new ConsistentHashRing(replicas, VIRTUAL_NODES);
+        // A ring built again from the same addresses agrees, as separate gateway instances must.
+        ConsistentHashRing rebuilt = new ConsistentHashRing(replicas, VIRTUAL_NODES);
+        for (int i = 0; i < 100; i++) {
+            String key = "user-" + i;
+            assertSame(owner(ring, key), owner(ring, key));
+            assertSame(owner(ring, key), owner(rebuilt, key));
+        }
+    }
+
+    @Test
+    void spreadsKeysEvenlyAcrossReplicas() {
+        List<Replica> replicas = replicas(4);
+        ConsistentHashRing ring = new ConsistentHashRing(replicas, VIRTUAL_NODES);
+        Map<Replica, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(owner(ring, "user-" + i), 1, Integer::sum);
+        }
+
+        double fair = (double) KEYS / replicas.size();
+        for (Replica replica : replicas) {
+            int count = counts.getOrDefault(replica, 0);
+            assertTrue(Math.abs(count - fair) < fair * 0.15,
+                    replica.address() + " owns " + count + " of " + KEYS + " keys");
+        }
+    }
+
+    @Test
+    void removingAReplicaOnlyMovesItsKeys() {
+        List<Replica> replicas = replicas(4);
+        ConsistentHashRing before = new ConsistentHashRing(replicas, VIRTUAL_NODES);
+        Replica removed = replicas.get(2);
+        List<Replica> remaining = new ArrayList<>(replicas);
+        remaining.remove(removed);
+        ConsistentHashRing after = new ConsistentHashRing(remaining, VIRTUAL_NODES);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "user-" + i;
+            Replica previous = owner(before, key);
+            if (previous == removed) {
+                moved++;
+            } else {
+                assertSame(previous, owner(after, key), key + " moved between surviving replicas");
+            }
+        }
+        assertTrue(moved > 0);
+    }
+
+    private static Replica owner(ConsistentHashRing ring, String key) {
+        return ring.ownerAt(ring.position(key));
+    }
+
+    // The ring only reads addresses, so these replicas have no channel.
+    private static List<Replica> replicas(int count) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            replicas.add(new Replica(new ReplicaAddress("user-service-" + i, 9001), null, null));
+        }
+        return replicas;
+    }
+}
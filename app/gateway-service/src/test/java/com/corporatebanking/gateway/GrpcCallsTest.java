@@ -0,0 +1,31 @@
+package com.corporatebanking.gateway;
+
+import io.grpc.Status;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GrpcCallsTest {
+
+    @Test
+    void mapsRejectionsToClientErrors() {
+        assertEquals(Response.Status.UNAUTHORIZED, GrpcCalls.errorStatus(failure(Status.UNAUTHENTICATED)));
+        assertEquals(Response.Status.CONFLICT, GrpcCalls.errorStatus(failure(Status.ALREADY_EXISTS)));
+        assertEquals(Response.Status.BAD_REQUEST, GrpcCalls.errorStatus(failure(Status.INVALID_ARGUMENT)));
+    }
+
+    @Test
+    void mapsEverythingElseToServerError() {
+        for (Status status : new Status[]{Status.UNAVAILABLE, Status.UNKNOWN, Status.INTERNAL, Status.CANCELLED}) {
+            assertEquals(Response.Status.INTERNAL_SERVER_ERROR, GrpcCalls.errorStatus(failure(status)),
+                    status.getCode().name());
+        }
+        assertEquals(Response.Status.INTERNAL_SERVER_ERROR,
+                GrpcCalls.errorStatus(new RuntimeException("Authentication failed: connection reset")));
+    }
+
+    private static Exception failure(Status status) {
+        return status.withDescription("test").asRuntimeException();
+    }
+}
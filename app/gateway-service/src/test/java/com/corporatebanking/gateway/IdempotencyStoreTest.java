@@ -0,0 +1,117 @@
+package com.corporatebanking.gateway;
+
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = store();
+
+    @Test
+    void replaysSuccessAndDefinitiveRejections() {
+        for (int status : new int[]{201, 400, 409, 422}) {
+            AtomicInteger calls = new AtomicInteger();
+            String key = "key-" + status;
+
+            Response first = store.execute("signup", key, "request", () -> respond(calls, status));
+            Response retry = store.execute("signup", key, "request", () -> respond(calls, status));
+
+            assertEquals(status, first.getStatus());
+            assertEquals(status, retry.getStatus());
+            assertEquals("true", retry.getHeaderString(IdempotencyStore.REPLAYED_HEADER));
+            assertEquals(1, calls.get(), "status " + status + " is replayed");
+        }
+    }
+
+    @Test
+    void retriesResponsesThatMayChange() {
+        for (int status : new int[]{401, 403, 429, 500, 503}) {
+            AtomicInteger calls = new AtomicInteger();
+            String key = "key-" + status;
+
+            store.execute("signup", key, "request", () -> respond(calls, status));
+            Response retry = store.execute("signup", key, "request", () -> respond(calls, status));
+
+            assertNull(retry.getHeaderString(IdempotencyStore.REPLAYED_HEADER));
+            assertEquals(2, calls.get(), "status " + status + " runs again");
+        }
+    }
+
+    @Test
+    void retryAfterServerErrorStoresTheSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+        store.execute("signup", "key", "request", () -> respond(calls, 500));
+        store.execute("signup", "key", "request", () -> respond(calls, 201));
+        Response replayed = store.execute("signup", "key", "request", () -> respond(calls, 500));
+
+        assertEquals(201, replayed.getStatus());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void refusesKeyReusedForDifferentRequest() {
+        AtomicInteger calls = new AtomicInteger();
+        store.execute("signup", "key", "request", () -> respond(calls, 201));
+        Response reused = store.execute("signup", "key", "other request", () -> respond(calls, 201));
+
+        assertEquals(422, reused.getStatus());
+        assertEquals(1, calls.get());
+    }
+
+    private static Response respond(AtomicInteger calls, int status) {
+        calls.incrementAndGet();
+        return Response.status(status).build();
+    }
+
+    private static IdempotencyStore store() {
+        GatewayConfig.Idempotency idempotency = new GatewayConfig.Idempotency() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public Duration ttl() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public int maxEntries() {
+                return 100;
+            }
+        };
+        GatewayConfig.Deadlines deadlines = (GatewayConfig.Deadlines) Proxy.newProxyInstance(
+                GatewayConfig.class.getClassLoader(), new Class<?>[]{GatewayConfig.Deadlines.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("request")) {
+                        return Duration.ofSeconds(1);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        // Only the idempotency and deadline sections are read.
+        GatewayConfig config = (GatewayConfig) Proxy.newProxyInstance(GatewayConfig.class.getClassLoader(),
+                new Class<?>[]{GatewayConfig.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "idempotency":
+                            return idempotency;
+                        case "deadlines":
+                            return deadlines;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        IdempotencyStore store = new IdempotencyStore();
+        store.config = config;
+        store.requestDeadline = new RequestDeadline();
+        store.requestDeadline.config = config;
+        return store;
+    }
+}
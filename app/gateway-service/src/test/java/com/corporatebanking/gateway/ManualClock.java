@@ -0,0 +1,25 @@
+package com.corporatebanking.gateway;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Nanosecond clock that only moves when a test advances it.
+ */
+final class ManualClock implements LongSupplier {
+
+    private long now = 1_000_000_000L;
+
+    @Override
+    public long getAsLong() {
+        return now;
+    }
+
+    long now() {
+        return now;
+    }
+
+    void advance(Duration duration) {
+        now += duration.toNanos();
+    }
+}
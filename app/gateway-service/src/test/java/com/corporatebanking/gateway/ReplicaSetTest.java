@@ -0,0 +1,179 @@
+package com.corporatebanking.gateway;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReplicaSetTest {
+
+    private static final GatewayConfig.Ejection EJECTION =
+            Testing.ejection(1, Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+    private final List<ReplicaSet> sets = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        sets.forEach(ReplicaSet::shutdown);
+    }
+
+    @Test
+    void failsWithoutReplicas() {
+        ReplicaSet set = replicaSet("least-outstanding", 0);
+        assertThrows(DownstreamUnavailableException.class, () -> set.pick(null, null));
+    }
+
+    @Test
+    void picksReplicaWithFewestCallsInFlight() {
+        ReplicaSet set = replicaSet("least-outstanding", 3);
+        List<Replica> replicas = set.replicas();
+        load(replicas.get(0), 2);
+        load(replicas.get(1), 1);
+        load(replicas.get(2), 3);
+
+        assertSame(replicas.get(1), set.pick(null, null));
+    }
+
+    @Test
+    void avoidsExcludedReplica() {
+        ReplicaSet set = replicaSet("least-outstanding", 2);
+        Replica idle = set.replicas().get(0);
+        load(set.replicas().get(1), 5);
+
+        assertNotEquals(idle, set.pick(null, idle));
+    }
+
+    @Test
+    void skipsEjectedReplicas() {
+        ReplicaSet set = replicaSet("least-outstanding", 2);
+        Replica ejected = set.replicas().get(0);
+        ejected.onFailure();
+        load(set.replicas().get(1), 5);
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(set.replicas().get(1), set.pick(null, null));
+        }
+    }
+
+    @Test
+    void usesLeastLoadedWhenAllAreEjected() {
+        ReplicaSet set = replicaSet("least-outstanding", 2);
+        set.replicas().forEach(Replica::onFailure);
+        load(set.replicas().get(0), 4);
+
+        assertSame(set.replicas().get(1), set.pick(null, null));
+    }
+
+    @Test
+    void keepsReplicasAcrossMembershipUpdates() {
+        ReplicaSet set = replicaSet("least-outstanding", 2);
+        Replica kept = set.replicas().get(1);
+        set.update(List.of(kept.address(), new ReplicaAddress("localhost", 10_100)));
+
+        assertEquals(2, set.replicas().size());
+        assertSame(kept, set.replicas().get(0));
+    }
+
+    @Test
+    void keepsReplicasWhenDiscoveryReturnsNone() {
+        ReplicaSet set = replicaSet("least-outstanding", 2);
+        List<Replica> known = set.replicas();
+        set.update(List.of());
+
+        assertEquals(known, set.replicas());
+        assertFalse(known.get(0).channel().isShutdown());
+    }
+
+    @Test
+    void keyedCallsGoToTheRingOwner() {
+        ReplicaSet set = replicaSet("affinity", 3);
+        Replica owner = set.pick("user-42", null);
+        for (int i = 0; i < 10; i++) {
+            assertSame(owner, set.pick("user-42", null));
+        }
+        assertEquals(11, set.affinityHits());
+        assertEquals(0, set.affinitySpills());
+    }
+
+    @Test
+    void keepsKeyOnOwnerWithinLoadBound() {
+        ReplicaSet set = replicaSet("affinity", 3);
+        Replica owner = set.pick("user-42", null);
+        // 3 in flight over 3 replicas: the bound is ceil(1.25 * 4 / 3) = 2, and the owner would be at 2.
+        set.replicas().forEach(replica -> load(replica, 1));
+
+        assertSame(owner, set.pick("user-42", null));
+    }
+
+    @Test
+    void spillsToNextReplicaOverLoadBound() {
+        ReplicaSet set = replicaSet("affinity", 3);
+        Replica owner = set.pick("user-42", null);
+        // 4 in flight, all on the owner: the bound is ceil(1.25 * 5 / 3) = 3.
+        load(owner, 4);
+
+        Replica spilled = set.pick("user-42", null);
+        assertNotEquals(owner, spilled);
+        assertEquals(1, set.affinitySpills());
+        // The spill follows the ring, so the key keeps spilling to the same replica.
+        assertSame(spilled, set.pick("user-42", null));
+
+        for (int i = 0; i < 4; i++) {
+            owner.end();
+        }
+        assertSame(owner, set.pick("user-42", null), "back on the owner once its calls finish");
+    }
+
+    @Test
+    void spillsPastEjectedOwner() {
+        ReplicaSet set = replicaSet("affinity", 3);
+        Replica owner = set.pick("user-42", null);
+        owner.onFailure();
+
+        assertNotEquals(owner, set.pick("user-42", null));
+        assertEquals(1, set.affinitySpills());
+    }
+
+    @Test
+    void hedgeAvoidsTheOwner() {
+        ReplicaSet set = replicaSet("affinity", 3);
+        Replica owner = set.pick("user-42", null);
+
+        assertNotEquals(owner, set.pick("user-42", owner));
+    }
+
+    @Test
+    void unkeyedCallsIgnoreTheRing() {
+        ReplicaSet set = replicaSet("affinity", 2);
+        load(set.replicas().get(0), 3);
+
+        assertSame(set.replicas().get(1), set.pick(null, null));
+        assertEquals(0, set.affinityHits() + set.affinitySpills());
+    }
+
+    private ReplicaSet replicaSet(String routing, int size) {
+        ReplicaSet set = new ReplicaSet(Downstream.USER_SERVICE, null, routing, EJECTION,
+                Testing.affinity(160, 1.25));
+        List<ReplicaAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            addresses.add(new ReplicaAddress("localhost", 10_000 + i));
+        }
+        set.update(addresses);
+        sets.add(set);
+        return set;
+    }
+
+    private static void load(Replica replica, int calls) {
+        for (int i = 0; i < calls; i++) {
+            replica.begin();
+        }
+    }
+}
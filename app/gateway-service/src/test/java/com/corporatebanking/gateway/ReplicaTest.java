@@ -0,0 +1,81 @@
+package com.corporatebanking.gateway;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaTest {
+
+    private static final Duration BASE = Duration.ofSeconds(10);
+    private static final Duration MAX = Duration.ofSeconds(60);
+
+    private final ManualClock clock = new ManualClock();
+    // Channels connect lazily; getState(false) never dials, so nothing needs to listen here.
+    private final ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", 1).usePlaintext().build();
+    private final Replica replica = new Replica(new ReplicaAddress("localhost", 1), channel,
+            Testing.ejection(3, BASE, MAX), clock);
+
+    @AfterEach
+    void closeChannel() {
+        channel.shutdownNow();
+    }
+
+    @Test
+    void staysAvailableBelowConsecutiveFailures() {
+        replica.onFailure();
+        replica.onFailure();
+        assertTrue(replica.available(clock.now()));
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        replica.onFailure();
+        replica.onFailure();
+        replica.onSuccess();
+        replica.onFailure();
+        replica.onFailure();
+        assertTrue(replica.available(clock.now()));
+    }
+
+    @Test
+    void ejectsForBaseDurationAfterConsecutiveFailures() {
+        eject();
+        assertFalse(replica.available(clock.now()));
+        assertFalse(replica.available(clock.now() + BASE.toNanos() - 1));
+        assertTrue(replica.available(clock.now() + BASE.toNanos()));
+    }
+
+    @Test
+    void doublesEachEjectionUpToMaxDuration() {
+        for (Duration expected : new Duration[]{BASE, BASE.multipliedBy(2), BASE.multipliedBy(4), MAX, MAX}) {
+            eject();
+            assertFalse(replica.available(clock.now() + expected.toNanos() - 1), "ejected for " + expected);
+            assertTrue(replica.available(clock.now() + expected.toNanos()), "back after " + expected);
+            clock.advance(expected);
+        }
+    }
+
+    @Test
+    void successResetsBackoff() {
+        eject();
+        clock.advance(BASE);
+        eject();
+        clock.advance(BASE.multipliedBy(2));
+        replica.onSuccess();
+
+        eject();
+        assertTrue(replica.available(clock.now() + BASE.toNanos()));
+    }
+
+    private void eject() {
+        for (int i = 0; i < 3; i++) {
+            replica.onFailure();
+        }
+    }
+}
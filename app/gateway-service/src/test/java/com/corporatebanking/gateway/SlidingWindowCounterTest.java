@@ -0,0 +1,81 @@
+package com.corporatebanking.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowCounterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private final ManualClock clock = new ManualClock();
+    private final SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW.toNanos(), clock.now());
+
+    @Test
+    void countsEventsInCurrentWindow() {
+        assertTrue(counter.isEmpty(clock.now()));
+        increment(3);
+        clock.advance(Duration.ofSeconds(59));
+        increment(2);
+        assertEquals(5, counter.count(clock.now()));
+    }
+
+    @Test
+    void weighsPreviousWindowByOverlap() {
+        increment(10);
+        clock.advance(WINDOW);
+        assertEquals(10, counter.count(clock.now()));
+
+        clock.advance(Duration.ofSeconds(15));
+        assertEquals(8, counter.count(clock.now()), "ceil(10 * 45 / 60)");
+        increment(1);
+        assertEquals(9, counter.count(clock.now()));
+
+        clock.advance(Duration.ofSeconds(42));
+        assertEquals(2, counter.count(clock.now()), "ceil(10 * 3 / 60) + 1");
+    }
+
+    @Test
+    void expiresAfterTwoWindows() {
+        increment(10);
+        clock.advance(WINDOW.multipliedBy(2));
+        assertEquals(0, counter.count(clock.now()));
+        assertTrue(counter.isEmpty(clock.now()));
+    }
+
+    @Test
+    void dropsEventsWhenSeveralWindowsPassAtOnce() {
+        increment(4);
+        clock.advance(WINDOW.multipliedBy(5).plusSeconds(30));
+        assertTrue(counter.isEmpty(clock.now()));
+        increment(1);
+        assertEquals(1, counter.count(clock.now()));
+        assertEquals(Duration.ofSeconds(30).toNanos(), counter.untilRoll(clock.now()),
+                "windows stay aligned to the first one");
+    }
+
+    @Test
+    void reportsTimeUntilWindowRolls() {
+        clock.advance(Duration.ofSeconds(20));
+        assertEquals(Duration.ofSeconds(40).toNanos(), counter.untilRoll(clock.now()));
+    }
+
+    @Test
+    void resetClearsBothWindows() {
+        increment(3);
+        clock.advance(WINDOW);
+        increment(2);
+        counter.reset();
+        assertTrue(counter.isEmpty(clock.now()));
+        assertEquals(0, counter.count(clock.now()));
+    }
+
+    private void increment(int times) {
+        for (int i = 0; i < times; i++) {
+            counter.increment(clock.now());
+        }
+    }
+}
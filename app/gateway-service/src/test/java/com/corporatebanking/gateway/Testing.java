@@ -0,0 +1,45 @@
+package com.corporatebanking.gateway;
+
+import java.time.Duration;
+
+/**
+ * Fixed configuration values for constructing gateway classes outside Quarkus.
+ */
+final class Testing {
+
+    private Testing() {
+    }
+
+    static GatewayConfig.Ejection ejection(int consecutiveFailures, Duration baseDuration, Duration maxDuration) {
+        return new GatewayConfig.Ejection() {
+            @Override
+            public int consecutiveFailures() {
+                return consecutiveFailures;
+            }
+
+            @Override
+            public Duration baseDuration() {
+                return baseDuration;
+            }
+
+            @Override
+            public Duration maxDuration() {
+                return maxDuration;
+            }
+        };
+    }
+
+    static GatewayConfig.Affinity affinity(int virtualNodes, double loadFactor) {
+        return new GatewayConfig.Affinity() {
+            @Override
+            public int virtualNodes() {
+                return virtualNodes;
+            }
+
+            @Override
+            public double loadFactor() {
+                return loadFactor;
+            }
+        };
+    }
+}
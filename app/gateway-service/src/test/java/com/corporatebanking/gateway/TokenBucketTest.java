@@ -0,0 +1,71 @@
+package com.corporatebanking.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long PERIOD = Duration.ofSeconds(1).toNanos();
+    private static final long INTERVAL = PERIOD / 5;
+
+    private final ManualClock clock = new ManualClock();
+    private final TokenBucket bucket = new TokenBucket(5, PERIOD, clock.now());
+
+    @Test
+    void allowsBurstOfCapacityThenRefusesWithWait() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0L, bucket.tryAcquire(clock.now()));
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(clock.now()));
+        assertEquals(INTERVAL, bucket.tryAcquire(clock.now()), "a refusal takes no token");
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        drain();
+        clock.advance(Duration.ofNanos(INTERVAL - 1));
+        assertEquals(1L, bucket.tryAcquire(clock.now()));
+
+        clock.advance(Duration.ofNanos(1));
+        assertEquals(0L, bucket.tryAcquire(clock.now()));
+        assertEquals(INTERVAL, bucket.tryAcquire(clock.now()));
+    }
+
+    @Test
+    void sustainsTheConfiguredRate() {
+        drain();
+        for (int i = 0; i < 100; i++) {
+            clock.advance(Duration.ofNanos(INTERVAL));
+            assertEquals(0L, bucket.tryAcquire(clock.now()));
+        }
+    }
+
+    @Test
+    void doesNotSaveUpBeyondCapacity() {
+        clock.advance(Duration.ofMinutes(10));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0L, bucket.tryAcquire(clock.now()));
+        }
+        assertTrue(bucket.tryAcquire(clock.now()) > 0);
+    }
+
+    @Test
+    void isFullOncePeriodHasRefilled() {
+        assertTrue(bucket.isFull(clock.now()));
+        drain();
+        assertFalse(bucket.isFull(clock.now()));
+        assertFalse(bucket.isFull(clock.now() + PERIOD - 1));
+        assertTrue(bucket.isFull(clock.now() + PERIOD));
+    }
+
+    private void drain() {
+        while (bucket.tryAcquire(clock.now()) == 0L) {
+            // Take every token.
+        }
+    }
+}
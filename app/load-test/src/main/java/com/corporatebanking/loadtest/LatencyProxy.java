@@ -0,0 +1,119 @@
+package com.corporatebanking.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TCP proxy that delays every chunk of data by a fixed time in each direction, standing in for
+ * a network hop between two components (gateway to service, service to database). Ordering
+ * within a connection is preserved; a round trip costs twice the delay.
+ */
+final class LatencyProxy implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final Chunk END = new Chunk(0L, new byte[0]);
+
+    private final String name;
+    private final String targetHost;
+    private final int targetPort;
+    private final long delayNanos;
+    private ServerSocket serverSocket;
+
+    private record Chunk(long dueAt, byte[] data) {
+    }
+
+    LatencyProxy(String name, String targetHost, int targetPort, Duration delay) {
+        this.name = name;
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.delayNanos = delay.toNanos();
+    }
+
+    /**
+     * @return the local port to connect to instead of the target
+     */
+    int start() throws IOException {
+        serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name(name + "-proxy-accept").start(this::acceptLoop);
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket upstream = new Socket(targetHost, targetPort);
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                pipe(client, upstream);
+                pipe(upstream, client);
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.printf("[%s proxy] %s%n", name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void pipe(Socket from, Socket to) {
+        BlockingQueue<Chunk> queue = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream in = from.getInputStream()) {
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    queue.put(new Chunk(System.nanoTime() + delayNanos, Arrays.copyOf(buffer, read)));
+                }
+            } catch (IOException | InterruptedException ignored) {
+                // Connection closed; the writer shuts the other side down.
+            } finally {
+                queue.offer(END);
+            }
+        });
+        Thread.ofVirtual().start(() -> {
+            try (OutputStream out = to.getOutputStream()) {
+                while (true) {
+                    Chunk chunk = queue.take();
+                    if (chunk == END) {
+                        break;
+                    }
+                    long wait;
+                    while ((wait = chunk.dueAt() - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    out.write(chunk.data());
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException ignored) {
+                // Peer went away.
+            } finally {
+                closeQuietly(from);
+                closeQuietly(to);
+            }
+        });
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Already closed.
+        }
+    }
+}
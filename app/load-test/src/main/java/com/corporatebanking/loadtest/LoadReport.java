@@ -0,0 +1,117 @@
+package com.corporatebanking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds) and error counts. Samples taken before
+ * {@link #startMeasuring()} are discarded as warm-up.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        recorders.get(operation).recordValue(Math.max(1L, latencyNanos / 1_000L));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void startMeasuring() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Prints the per-operation table and writes {@code summary.json} plus one HdrHistogram
+     * percentile distribution ({@code <operation>.hgrm}) per operation to the output directory.
+     */
+    void finish(Duration elapsed, Map<String, Object> settings, Path outputDir, PrintStream out)
+            throws IOException {
+        Files.createDirectories(outputDir);
+        double seconds = elapsed.toNanos() / 1e9;
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+
+        out.printf("%n%-12s %10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            long errorCount = errors.get(operation).sum();
+            total.add(histogram);
+            totalErrors += errorCount;
+
+            out.printf("%-12s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.key(), count, count / seconds, errorCount,
+                    millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0),
+                    millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+            endpoints.put(operation.key(), summary(histogram, errorCount, seconds));
+
+            try (PrintStream hgrm = new PrintStream(outputDir.resolve(operation.key() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        out.printf("%-12s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                "total", total.getTotalCount(), total.getTotalCount() / seconds, totalErrors,
+                millis(total, 50.0), millis(total, 90.0), millis(total, 99.0), millis(total, 99.9),
+                total.getMaxValue() / 1000.0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("durationSeconds", seconds);
+        report.put("total", summary(total, totalErrors, seconds));
+        report.put("operations", endpoints);
+        Path summary = outputDir.resolve("summary.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(summary.toFile(), report);
+        out.printf("%nWrote %s and per-operation .hgrm files%n", summary);
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errorCount, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errorCount);
+        summary.put("throughput", histogram.getTotalCount() / seconds);
+        Map<String, Double> latencies = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latencies.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    millis(histogram, percentile));
+        }
+        latencies.put("max", histogram.getMaxValue() / 1000.0);
+        latencies.put("mean", histogram.getMean() / 1000.0);
+        summary.put("latencyMs", latencies);
+        return summary;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.corporatebanking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test against the gateway. Without {@code --gateway-url} it starts the three
+ * services locally ({@link LocalStack}); otherwise it drives an existing gateway.
+ *
+ * <pre>
+ * java -jar target/load-test.jar [--gateway-url=http://localhost:8080]
+ *     [--users=50] [--rate=0] [--warmup=15s] [--duration=60s] [--mix=signup:2,login:8,...]
+ *     [--role=ADMIN] [--db-latency=0ms] [--grpc-latency=0ms] [--logging=async]
+ *     [--read-replica=200ms] [--output=target/load-test]
+ * </pre>
+ *
+ * {@code --users} virtual users run concurrently. With {@code --rate} (requests per second
+ * across all users) each user is paced and latency is measured from the scheduled start, so a
+ * stalled system is not under-reported; with the default of 0 users send back to back.
+ * {@code --logging=sync} starts the local services with synchronous, unsampled console logging,
+ * for comparing against the default async, sampled setup. {@code --read-replica} gives the local
+ * user-service a read replica trailing the database by the given lag.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        Duration warmup = duration(options.getOrDefault("warmup", "15s"));
+        Duration measured = duration(options.getOrDefault("duration", "60s"));
+        TrafficMix mix = TrafficMix.parse(options.getOrDefault("mix", TrafficMix.DEFAULT));
+        String role = options.getOrDefault("role", "ADMIN");
+        Duration dbLatency = duration(options.getOrDefault("db-latency", "0ms"));
+        Duration grpcLatency = duration(options.getOrDefault("grpc-latency", "0ms"));
+        String logging = options.getOrDefault("logging", "async");
+        if (!logging.equals("async") && !logging.equals("sync")) {
+            throw new IllegalArgumentException("Expected --logging=async or --logging=sync, got: " + logging);
+        }
+        Duration replicaLag = options.containsKey("read-replica") ? duration(options.get("read-replica")) : null;
+        Path output = Path.of(options.getOrDefault("output", "target/load-test"));
+
+        LocalStack stack = null;
+        URI gateway;
+        if (options.containsKey("gateway-url")) {
+            gateway = URI.create(options.get("gateway-url"));
+        } else {
+            Path appDir = Path.of(options.getOrDefault("app-dir", ".."));
+            stack = new LocalStack(appDir, output.resolve("logs"), dbLatency, grpcLatency,
+                    logging.equals("async"))
+                    .readReplica(replicaLag);
+            gateway = stack.start();
+        }
+
+        try {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("gateway", gateway.toString());
+            settings.put("users", users);
+            settings.put("rate", rate);
+            settings.put("warmupSeconds", warmup.toSeconds());
+            settings.put("mix", mix.toString());
+            settings.put("role", role);
+            settings.put("dbLatencyMs", dbLatency.toMillis());
+            settings.put("grpcLatencyMs", grpcLatency.toMillis());
+            settings.put("logging", logging);
+            settings.put("readReplicaLagMs", replicaLag != null ? replicaLag.toMillis() : null);
+
+            LoadReport report = new LoadReport();
+            Duration elapsed = run(gateway, users, rate, warmup, measured, mix, role, report);
+            report.finish(elapsed, settings, output, System.out);
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+    }
+
+    private static Duration run(URI gateway, int users, double rate, Duration warmup, Duration measured,
+                                TrafficMix mix, String role, LoadReport report) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        System.out.printf("Signing up %d virtual users against %s%n", users, gateway);
+        List<VirtualUser> virtualUsers = new ArrayList<>(users);
+        try (ExecutorService setup = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<VirtualUser>> created = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                created.add(setup.submit(() -> {
+                    VirtualUser user = new VirtualUser(httpClient, gateway, objectMapper, report, role);
+                    user.setUp();
+                    return user;
+                }));
+            }
+            for (Future<VirtualUser> user : created) {
+                virtualUsers.add(user.get());
+            }
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + measured.toNanos();
+        long interval = rate > 0 ? (long) (users * 1e9 / rate) : 0L;
+
+        System.out.printf("Running %s: %s warm-up, %s measured%n", mix, warmup, measured);
+        try (ExecutorService load = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                VirtualUser user = virtualUsers.get(i);
+                // Spread paced users across the interval instead of firing together.
+                long offset = interval > 0 ? interval * i / users : 0L;
+                load.submit(() -> drive(user, mix, start + offset, interval, end));
+            }
+
+            LockSupport.parkNanos(Math.max(0L, measureFrom - System.nanoTime()));
+            report.startMeasuring();
+            System.out.println("Warm-up done, measuring");
+        }
+        return Duration.ofNanos(Math.min(System.nanoTime(), end) - measureFrom);
+    }
+
+    private static void drive(VirtualUser user, TrafficMix mix, long firstStart, long interval, long end) {
+        long next = firstStart;
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= end || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            long intendedStart;
+            if (interval > 0) {
+                if (next > now) {
+                    LockSupport.parkNanos(next - now);
+                    continue;
+                }
+                intendedStart = next;
+                next += interval;
+            } else {
+                intendedStart = now;
+            }
+            user.execute(mix.next(ThreadLocalRandom.current()), intendedStart);
+        }
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        switch (text.charAt(text.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            default:
+                throw new IllegalArgumentException("Expected a duration like 500ms, 30s or 2m, got: " + value);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.corporatebanking.loadtest;
+
+import org.h2.tools.Server;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs the gateway, user-service and authorization-service as local processes against an
+ * in-memory H2 database in Oracle mode, with no Oracle, Keycloak or Consul. The services must be
+ * built first; user-service and authorization-service with {@code -Ploadtest} so they carry the
+ * H2 driver. Optional {@link LatencyProxy} hops sit in front of the database and the gRPC
+ * servers. Without async logging the services log every line synchronously, as they did before
+ * async console output and sampling. With {@link #nativeBuild} it runs the native executables
+ * built with {@code -Pnative} instead of the JVM builds. With {@link #readReplica} user-service
+ * also reads from a {@link SimulatedReplica} of the database.
+ */
+final class LocalStack implements AutoCloseable {
+
+    static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    /**
+     * A service process that has just been started.
+     *
+     * @param startNanos {@link System#nanoTime()} just before the process was started
+     * @param grpcPort   0 for the gateway, which only serves HTTP
+     */
+    record Launched(String service, Process process, long startNanos, int grpcPort, int httpPort) {
+    }
+
+    /**
+     * Waits until a launched service is usable; the default polls its readiness check.
+     */
+    @FunctionalInterface
+    interface StartupProbe {
+        void await(Launched launched) throws Exception;
+    }
+
+    private final Path appDir;
+    private final Path logDir;
+    private final Duration dbLatency;
+    private final Duration grpcLatency;
+    private final boolean asyncLogging;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<Process> processes = new ArrayList<>();
+    private final List<LatencyProxy> proxies = new ArrayList<>();
+    private boolean nativeBuild;
+    private StartupProbe startupProbe = this::awaitReady;
+    private Duration replicaLag;
+    private Server database;
+    private SimulatedReplica replica;
+
+    LocalStack(Path appDir, Path logDir, Duration dbLatency, Duration grpcLatency, boolean asyncLogging) {
+        this.appDir = appDir;
+        this.logDir = logDir;
+        this.dbLatency = dbLatency;
+        this.grpcLatency = grpcLatency;
+        this.asyncLogging = asyncLogging;
+    }
+
+    /**
+     * Runs the native executables ({@code target/*-runner}) instead of the JVM builds.
+     */
+    LocalStack nativeBuild(boolean nativeBuild) {
+        this.nativeBuild = nativeBuild;
+        return this;
+    }
+
+    /**
+     * Replaces the readiness check each service is waited on with, before the next is started.
+     */
+    LocalStack startupProbe(StartupProbe startupProbe) {
+        this.startupProbe = startupProbe;
+        return this;
+    }
+
+    /**
+     * Gives user-service a read replica that trails the database by {@code lag}; null for none.
+     */
+    LocalStack readReplica(Duration lag) {
+        this.replicaLag = lag;
+        return this;
+    }
+
+    /**
+     * @return the gateway base URL
+     */
+    URI start() throws Exception {
+        Files.createDirectories(logDir);
+
+        database = Server.createTcpServer("-tcpPort", String.valueOf(freePort()), "-ifNotExists").start();
+        int databasePort = hop("database", database.getPort(), dbLatency);
+        String databaseName = "corporate_banking_" + DATABASES.incrementAndGet();
+        String jdbcUrl = databaseUrl(databasePort, databaseName);
+        System.out.printf("H2 database on port %d (%s added each way)%n", database.getPort(), dbLatency);
+
+        int authGrpcPort = freePort();
+        int authHttpPort = freePort();
+        startupProbe.await(launch("authorization-service", databaseService(jdbcUrl, authGrpcPort, authHttpPort),
+                authGrpcPort, authHttpPort));
+
+        // Started after authorization-service so its extra user columns already exist.
+        int userGrpcPort = freePort();
+        int userHttpPort = freePort();
+        Map<String, String> userService = databaseService(jdbcUrl, userGrpcPort, userHttpPort);
+        if (replicaLag != null) {
+            // Copied over the direct port, so only the services' own queries pay --db-latency.
+            String replicaName = databaseName + "_replica";
+            replica = new SimulatedReplica(databaseUrl(database.getPort(), databaseName),
+                    databaseUrl(database.getPort(), replicaName), replicaLag);
+            userService.put("read-datasource.enabled", "true");
+            userService.put("quarkus.datasource.\"read\".jdbc.url", databaseUrl(databasePort, replicaName));
+            System.out.printf("H2 read replica %s trailing by %s%n", replicaName, replicaLag);
+        }
+        startupProbe.await(launch("user-service", userService, userGrpcPort, userHttpPort));
+
+        int gatewayPort = freePort();
+        Map<String, String> gateway = new LinkedHashMap<>();
+        gateway.put("quarkus.http.port", String.valueOf(gatewayPort));
+        gateway.put("gateway.backends.user-service.discovery", "static");
+        gateway.put("gateway.backends.user-service.replicas",
+                "localhost:" + hop("user-service", userGrpcPort, grpcLatency));
+        gateway.put("gateway.backends.authorization-service.discovery", "static");
+        gateway.put("gateway.backends.authorization-service.replicas",
+                "localhost:" + hop("authorization-service", authGrpcPort, grpcLatency));
+        // Every virtual user shares one client address, which the per-IP limits would throttle.
+        gateway.put("gateway.rate-limit.enabled", "false");
+        startupProbe.await(launch("gateway-service", gateway, 0, gatewayPort));
+        System.out.printf("Gateway on port %d (%s added each way on gRPC links)%n", gatewayPort, grpcLatency);
+
+        return URI.create("http://localhost:" + gatewayPort);
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+        for (LatencyProxy proxy : proxies) {
+            try {
+                proxy.close();
+            } catch (IOException ignored) {
+                // Shutting down anyway.
+            }
+        }
+        if (replica != null) {
+            try {
+                replica.close();
+            } catch (SQLException ignored) {
+                // Shutting down anyway.
+            }
+        }
+        if (database != null) {
+            database.stop();
+        }
+    }
+
+    private Map<String, String> databaseService(String jdbcUrl, int grpcPort, int httpPort) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("quarkus.profile", "loadtest");
+        properties.put("quarkus.grpc.server.port", String.valueOf(grpcPort));
+        properties.put("quarkus.http.port", String.valueOf(httpPort));
+        properties.put("quarkus.datasource.jdbc.url", jdbcUrl);
+        properties.put("consul.registration.enabled", "false");
+        return properties;
+    }
+
+    private static String databaseUrl(int port, String name) {
+        return "jdbc:h2:tcp://localhost:" + port + "/mem:" + name + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+    }
+
+    private int hop(String name, int targetPort, Duration latency) throws IOException {
+        if (latency.isZero()) {
+            return targetPort;
+        }
+        LatencyProxy proxy = new LatencyProxy(name, "localhost", targetPort, latency);
+        proxies.add(proxy);
+        return proxy.start();
+    }
+
+    private Launched launch(String service, Map<String, String> properties, int grpcPort, int httpPort)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        if (nativeBuild) {
+            command.add(nativeExecutable(service).toString());
+        } else {
+            command.add(ProcessHandle.current().info().command().orElse("java"));
+        }
+        properties.forEach((key, value) -> command.add("-D" + key + "=" + value));
+        if (!asyncLogging) {
+            command.add("-Dquarkus.log.console.async=false");
+            command.add("-Dlogging.sampling.rate=1");
+        }
+        if (!nativeBuild) {
+            Path jar = appDir.resolve(service).resolve("target/quarkus-app/quarkus-run.jar");
+            if (!Files.exists(jar)) {
+                throw new IllegalStateException(jar + " not found; build " + service + " first (see README.md)");
+            }
+            command.add("-jar");
+            command.add(jar.toString());
+        }
+
+        Path log = logDir.resolve(service + ".log");
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        processes.add(process);
+        System.out.printf("Started %s (pid %d), logging to %s%n", service, process.pid(), log);
+        return new Launched(service, process, startNanos, grpcPort, httpPort);
+    }
+
+    private Path nativeExecutable(String service) throws IOException {
+        Path target = appDir.resolve(service).resolve("target");
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.list(target)) {
+                Optional<Path> runner = files.filter(file -> file.getFileName().toString().endsWith("-runner"))
+                        .findFirst();
+                if (runner.isPresent()) {
+                    return runner.get();
+                }
+            }
+        }
+        throw new IllegalStateException("No native executable in " + target + "; build " + service
+                + " with -Pnative first (see README.md)");
+    }
+
+    private void awaitReady(Launched launched) throws InterruptedException {
+        String service = launched.service();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + launched.httpPort() + "/q/health/ready"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            checkAlive(launched);
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notYetListening) {
+                // Still starting.
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(service + " not ready after " + STARTUP_TIMEOUT);
+    }
+
+    /**
+     * Fails if the launched service's process has already exited.
+     */
+    void checkAlive(Launched launched) {
+        if (!launched.process().isAlive()) {
+            throw new IllegalStateException(launched.service() + " exited with " + launched.process().exitValue()
+                    + "; see " + logDir.resolve(launched.service() + ".log"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
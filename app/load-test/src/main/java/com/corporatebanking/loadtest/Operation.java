@@ -0,0 +1,33 @@
+package com.corporatebanking.loadtest;
+
+/**
+ * Gateway calls the load generator can issue; {@link #key()} is the name used in traffic mixes
+ * and reports.
+ */
+enum Operation {
+    SIGNUP("signup"),
+    LOGIN("login"),
+    VALIDATE("validate"),
+    GET_USER("getUser"),
+    LIST_USERS("listUsers"),
+    UPDATE_USER("updateUser");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
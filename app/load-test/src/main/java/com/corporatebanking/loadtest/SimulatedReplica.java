@@ -0,0 +1,77 @@
+package com.corporatebanking.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A second H2 database that follows the primary's {@code users} table a fixed lag behind,
+ * standing in for an asynchronously replicated Oracle standby. Every {@link #POLL_INTERVAL} it
+ * merges in the rows whose {@code updated_at} is older than the lag, read through a linked table
+ * to the primary. Deletes are not replicated; the load mix has none.
+ */
+final class SimulatedReplica implements AutoCloseable {
+
+    static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    // Rows are stamped before their transaction commits, so each pass re-reads a short window
+    // before the last cut-off; MERGE makes the overlap harmless.
+    private static final Duration COMMIT_SLACK = Duration.ofSeconds(1);
+
+    private final Connection connection;
+    private final Duration lag;
+    private final ScheduledExecutorService replication;
+    private LocalDateTime copiedUpTo = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Creates the replica's {@code users} table, which must already exist on the primary, and
+     * starts copying into it.
+     */
+    SimulatedReplica(String primaryUrl, String replicaUrl, Duration lag) throws SQLException {
+        this.lag = lag;
+        connection = DriverManager.getConnection(replicaUrl, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE LINKED TABLE primary_users('org.h2.Driver', '" + primaryUrl
+                    + "', 'sa', '', 'USERS')");
+            statement.execute("CREATE TABLE users AS SELECT * FROM primary_users WHERE 1 = 0");
+            statement.execute("ALTER TABLE users ADD PRIMARY KEY (user_id)");
+        }
+        replication = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica");
+            thread.setDaemon(true);
+            return thread;
+        });
+        replication.scheduleWithFixedDelay(this::copy, 0, POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void copy() {
+        LocalDateTime cutOff = LocalDateTime.now().minus(lag);
+        try (PreparedStatement merge = connection.prepareStatement(
+                "MERGE INTO users KEY (user_id) SELECT * FROM primary_users"
+                        + " WHERE updated_at > ? AND updated_at <= ?")) {
+            merge.setObject(1, copiedUpTo.minus(COMMIT_SLACK));
+            merge.setObject(2, cutOff);
+            merge.executeUpdate();
+            copiedUpTo = cutOff;
+        } catch (SQLException e) {
+            System.err.printf("Replica copy failed: %s%n", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        replication.shutdownNow();
+        try {
+            replication.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        connection.close();
+    }
+}
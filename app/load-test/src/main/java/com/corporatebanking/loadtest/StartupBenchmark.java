@@ -0,0 +1,267 @@
+package com.corporatebanking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCalls;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark of the JVM and native builds. Starts the local stack ({@link LocalStack})
+ * repeatedly and, for each service, measures the time from starting its process to its first
+ * successful RPC, and its resident set size at that point.
+ *
+ * <pre>
+ * java -cp target/load-test.jar com.corporatebanking.loadtest.StartupBenchmark
+ *     [--builds=jvm,native] [--runs=5] [--output=target/startup]
+ * </pre>
+ *
+ * The first RPCs are a Signup on authorization-service (a query, an insert, bcrypt and token
+ * signing), a ListUsers on user-service and a signup through the gateway. They are retried every
+ * {@value #POLL_MILLIS} ms while the service is not yet listening, so the times include starting
+ * the JVM or executable.
+ */
+public final class StartupBenchmark {
+
+    private static final long POLL_MILLIS = 10;
+    private static final Duration RPC_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PASSWORD = "Startup-Passw0rd!";
+
+    private static final MethodDescriptor.Marshaller<byte[]> BYTES = new MethodDescriptor.Marshaller<>() {
+        @Override
+        public InputStream stream(byte[] value) {
+            return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(InputStream stream) {
+            try {
+                return stream.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private static final MethodDescriptor<byte[], byte[]> SIGNUP =
+            method("com.corporatebanking.authorizationservice.AuthorizationService", "Signup");
+    private static final MethodDescriptor<byte[], byte[]> LIST_USERS =
+            method("com.corporatebanking.userservice.UserService", "ListUsers");
+
+    record Sample(String build, int run, String service, double firstRpcMillis, long rssKb) {
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTest.parse(args);
+        List<String> builds = List.of(options.getOrDefault("builds", "jvm,native").split(","));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Path appDir = Path.of(options.getOrDefault("app-dir", ".."));
+        Path output = Path.of(options.getOrDefault("output", "target/startup"));
+        for (String build : builds) {
+            if (!build.equals("jvm") && !build.equals("native")) {
+                throw new IllegalArgumentException("Expected --builds of jvm and/or native, got: " + build);
+            }
+        }
+
+        StartupBenchmark benchmark = new StartupBenchmark();
+        List<Sample> samples = new ArrayList<>();
+        for (String build : builds) {
+            for (int run = 1; run <= runs; run++) {
+                System.out.printf("%n%s build, run %d of %d%n", build, run, runs);
+                Path logs = output.resolve("logs").resolve(build + "-" + run);
+                int current = run;
+                try (LocalStack stack = new LocalStack(appDir, logs, Duration.ZERO, Duration.ZERO, true)) {
+                    stack.nativeBuild(build.equals("native"))
+                            .startupProbe(launched -> {
+                                Sample sample = benchmark.firstRpc(stack, launched, build, current);
+                                System.out.printf("%s: first RPC after %.0f ms, RSS %d MB%n",
+                                        sample.service(), sample.firstRpcMillis(), sample.rssKb() / 1024);
+                                samples.add(sample);
+                            });
+                    stack.start();
+                }
+            }
+        }
+        report(samples, builds, runs, output);
+    }
+
+    private Sample firstRpc(LocalStack stack, LocalStack.Launched launched, String build, int run)
+            throws Exception {
+        String email = "startup-" + UUID.randomUUID() + "@example.com";
+        ManagedChannel channel = launched.grpcPort() == 0 ? null
+                : ManagedChannelBuilder.forAddress("localhost", launched.grpcPort()).usePlaintext().build();
+        try {
+            long deadline = launched.startNanos() + LocalStack.STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                stack.checkAlive(launched);
+                boolean served = switch (launched.service()) {
+                    case "authorization-service" -> call(channel, SIGNUP, strings(email, PASSWORD,
+                            "Startup", "Benchmark", "+44 20 7946 0000", "USER"));
+                    case "user-service" -> call(channel, LIST_USERS, new byte[0]);
+                    default -> signup(launched.httpPort(), email);
+                };
+                if (served) {
+                    double millis = (System.nanoTime() - launched.startNanos()) / 1e6;
+                    return new Sample(build, run, launched.service(), millis, rssKb(launched.process()));
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            throw new IllegalStateException(launched.service() + " served no RPC within "
+                    + LocalStack.STARTUP_TIMEOUT);
+        } finally {
+            if (channel != null) {
+                channel.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * @return false while the service is not yet accepting connections
+     */
+    private static boolean call(ManagedChannel channel, MethodDescriptor<byte[], byte[]> method, byte[] request) {
+        // Otherwise the channel waits out its reconnect backoff after each refused connection.
+        channel.resetConnectBackoff();
+        try {
+            ClientCalls.blockingUnaryCall(channel, method,
+                    CallOptions.DEFAULT.withDeadlineAfter(RPC_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS), request);
+            return true;
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() == Status.Code.UNAVAILABLE) {
+                return false;
+            }
+            throw new IllegalStateException(method.getFullMethodName() + " failed: " + e.getStatus(), e);
+        }
+    }
+
+    private boolean signup(int httpPort, String email) throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "firstName", "Startup",
+                "lastName", "Benchmark",
+                "phoneNumber", "+44 20 7946 0000",
+                "role", "USER"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + "/api/v1/auth/signup"))
+                .timeout(RPC_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException notYetListening) {
+            return false;
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Signup failed with " + response.statusCode() + ": " + response.body());
+        }
+        return true;
+    }
+
+    private static long rssKb(Process process) throws IOException, InterruptedException {
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(process.pid())).start();
+        String rss = new String(ps.getInputStream().readAllBytes(), StandardCharsets.US_ASCII).trim();
+        ps.waitFor();
+        return rss.isEmpty() ? -1 : Long.parseLong(rss);
+    }
+
+    private static void report(List<Sample> samples, List<String> builds, int runs, Path output)
+            throws IOException {
+        Files.createDirectories(output);
+        Map<String, Object> summaries = new LinkedHashMap<>();
+        System.out.printf("%n%-22s %-7s %14s %14s %14s %10s%n",
+                "service", "build", "p50 RPC ms", "min RPC ms", "max RPC ms", "p50 RSS MB");
+        for (String service : List.of("authorization-service", "user-service", "gateway-service")) {
+            for (String build : builds) {
+                List<Sample> group = samples.stream()
+                        .filter(sample -> sample.service().equals(service) && sample.build().equals(build))
+                        .toList();
+                if (group.isEmpty()) {
+                    continue;
+                }
+                List<Double> millis = group.stream().map(Sample::firstRpcMillis).sorted().toList();
+                List<Long> rss = group.stream().map(Sample::rssKb).sorted(Comparator.naturalOrder()).toList();
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("firstRpcMsMedian", millis.get(millis.size() / 2));
+                summary.put("firstRpcMsMin", millis.get(0));
+                summary.put("firstRpcMsMax", millis.get(millis.size() - 1));
+                summary.put("rssKbMedian", rss.get(rss.size() / 2));
+                summaries.put(service + "/" + build, summary);
+                System.out.printf("%-22s %-7s %14.0f %14.0f %14.0f %10d%n", service, build,
+                        millis.get(millis.size() / 2), millis.get(0), millis.get(millis.size() - 1),
+                        rss.get(rss.size() / 2) / 1024);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", runs);
+        report.put("summary", summaries);
+        report.put("samples", samples);
+        Path file = output.resolve("startup.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.printf("%nWrote %s%n", file);
+    }
+
+    private static MethodDescriptor<byte[], byte[]> method(String service, String method) {
+        return MethodDescriptor.<byte[], byte[]>newBuilder()
+                .setType(MethodDescriptor.MethodType.UNARY)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(service, method))
+                .setRequestMarshaller(BYTES)
+                .setResponseMarshaller(BYTES)
+                .build();
+    }
+
+    /**
+     * Protobuf encoding of a message whose fields 1 to n are the given strings, so the benchmark
+     * needs no generated stubs.
+     */
+    private static byte[] strings(String... fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < fields.length; i++) {
+            byte[] value = fields[i].getBytes(StandardCharsets.UTF_8);
+            out.write((i + 1) << 3 | 2);
+            for (int length = value.length; ; length >>>= 7) {
+                if (length < 0x80) {
+                    out.write(length);
+                    break;
+                }
+                out.write(length & 0x7f | 0x80);
+            }
+            out.writeBytes(value);
+        }
+        return out.toByteArray();
+    }
+}
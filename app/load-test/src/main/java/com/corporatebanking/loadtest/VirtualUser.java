@@ -0,0 +1,140 @@
+package com.corporatebanking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated client with its own account. It signs up at the start, then issues whichever
+ * operations the traffic mix picks, using its own token and user id.
+ */
+final class VirtualUser {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PASSWORD = "LoadTest-Passw0rd!";
+
+    private final HttpClient httpClient;
+    private final URI gateway;
+    private final ObjectMapper objectMapper;
+    private final LoadReport report;
+    private final String role;
+
+    private String email;
+    private String userId;
+    private String accessToken;
+
+    VirtualUser(HttpClient httpClient, URI gateway, ObjectMapper objectMapper, LoadReport report, String role) {
+        this.httpClient = httpClient;
+        this.gateway = gateway;
+        this.objectMapper = objectMapper;
+        this.report = report;
+        this.role = role;
+    }
+
+    /**
+     * Creates this user's account; not recorded.
+     */
+    void setUp() throws IOException, InterruptedException {
+        email = newEmail();
+        HttpResponse<String> signup = send(post("/api/v1/auth/signup", signupBody(email, role)));
+        if (signup.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Signup failed with " + signup.statusCode() + ": " + signup.body());
+        }
+        accessToken = objectMapper.readTree(signup.body()).path("accessToken").asText();
+
+        HttpResponse<String> validation = send(authorized("/api/v1/auth/validate")
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+        userId = objectMapper.readTree(validation.body()).path("userId").asText();
+    }
+
+    /**
+     * Runs one operation and records its latency, measured from {@code intendedStart} so that
+     * time spent waiting behind a slow previous request still counts.
+     */
+    void execute(Operation operation, long intendedStart) {
+        boolean success;
+        try {
+            HttpResponse<String> response = send(request(operation));
+            success = response.statusCode() / 100 == 2;
+            if (success && operation == Operation.LOGIN) {
+                JsonNode body = objectMapper.readTree(response.body());
+                accessToken = body.path("accessToken").asText(accessToken);
+            }
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        report.record(operation, System.nanoTime() - intendedStart, success);
+    }
+
+    private HttpRequest request(Operation operation) throws IOException {
+        switch (operation) {
+            case SIGNUP:
+                return post("/api/v1/auth/signup", signupBody(newEmail(), "USER"));
+            case LOGIN:
+                return post("/api/v1/auth/login", Map.of("username", email, "password", PASSWORD));
+            case VALIDATE:
+                return authorized("/api/v1/auth/validate").POST(HttpRequest.BodyPublishers.noBody()).build();
+            case GET_USER:
+                return authorized("/api/v1/users/" + userId).GET().build();
+            case LIST_USERS:
+                int page = 1 + ThreadLocalRandom.current().nextInt(5);
+                return authorized("/api/v1/users?page=" + page + "&pageSize=20").GET().build();
+            case UPDATE_USER:
+                String phone = "+44 20 " + (1000_0000 + ThreadLocalRandom.current().nextInt(9000_0000));
+                return authorized("/api/v1/users/" + userId)
+                        .PUT(json(Map.of("phoneNumber", phone)))
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operation);
+        }
+    }
+
+    private Map<String, String> signupBody(String email, String role) {
+        return Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "firstName", "Load",
+                "lastName", "Tester",
+                "phoneNumber", "+44 20 7946 0000",
+                "role", role);
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(json(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + accessToken);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String newEmail() {
+        return "lt-" + UUID.randomUUID() + "@loadtest.local";
+    }
+}
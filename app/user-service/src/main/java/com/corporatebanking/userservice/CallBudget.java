@@ -0,0 +1,32 @@
+package com.corporatebanking.userservice;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+
+/**
+ * Deadline and cancellation state of the gRPC call being served. Captured on the calling
+ * thread so it can be checked from the worker pool before expensive work is started.
+ */
+public final class CallBudget {
+
+    private final Context context;
+
+    private CallBudget(Context context) {
+        this.context = context;
+    }
+
+    public static CallBudget current() {
+        return new CallBudget(Context.current());
+    }
+
+    public void check(String stage) {
+        if (context.isCancelled()) {
+            Deadline deadline = context.getDeadline();
+            if (deadline != null && deadline.isExpired()) {
+                throw Status.DEADLINE_EXCEEDED.withDescription("Deadline exceeded before " + stage).asRuntimeException();
+            }
+            throw Status.CANCELLED.withDescription("Call cancelled before " + stage).asRuntimeException();
+        }
+    }
+}
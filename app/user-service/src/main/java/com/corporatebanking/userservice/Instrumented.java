@@ -0,0 +1,62 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.jfr.OperationEvent;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs one store query with all of its instrumentation: the Micrometer timer, an entry in the
+ * call's {@link ServerTiming} when it asked for one, and the JFR event, which is only filled in
+ * and committed when it is being recorded.
+ */
+public final class Instrumented {
+
+    private Instrumented() {
+    }
+
+    public static <T> T run(Timer timer, String timingName, OperationEvent event, Supplier<T> work) {
+        event.begin();
+        long start = System.nanoTime();
+        T result = null;
+        boolean failed = true;
+        try {
+            result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            finish(timer, timingName, event, System.nanoTime() - start, result, failed);
+        }
+    }
+
+    /**
+     * Like {@link #run}, measured from subscription until the Uni terminates, so the time includes
+     * waiting for a pooled connection.
+     */
+    public static <T> Uni<T> runAsync(Timer timer, String timingName, OperationEvent event,
+                                      Supplier<Uni<T>> work) {
+        return Uni.createFrom().deferred(() -> {
+            event.begin();
+            long start = System.nanoTime();
+            return work.get().onTermination().invoke((result, failure, cancelled) -> finish(timer, timingName,
+                    event, System.nanoTime() - start, result, failure != null || cancelled));
+        });
+    }
+
+    private static void finish(Timer timer, String timingName, OperationEvent event, long nanos, Object result,
+                               boolean failed) {
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.add(timingName, nanos, event.operation);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = failed ? OperationEvent.ERROR : OperationEvent.OK;
+            event.result(result);
+            event.commit();
+        }
+    }
+}
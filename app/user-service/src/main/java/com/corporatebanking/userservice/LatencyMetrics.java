@@ -0,0 +1,63 @@
+package com.corporatebanking.userservice;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.quarkus.runtime.ExecutorRecorder;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.threads.EnhancedQueueExecutor;
+
+import java.util.List;
+
+/**
+ * Distribution settings for every timer on {@code /q/metrics}, and gauges for the Quarkus worker
+ * pool. Timers publish {@code metrics.latency.percentiles}, computed in-process from a sliding
+ * window of HdrHistograms, and Prometheus buckets when {@code metrics.latency.histogram} is set
+ * so percentiles can also be aggregated across replicas.
+ */
+@Singleton
+public class LatencyMetrics {
+
+    @ConfigProperty(name = "metrics.latency.percentiles", defaultValue = "0.5,0.99,0.999")
+    List<Double> percentiles;
+
+    @ConfigProperty(name = "metrics.latency.histogram", defaultValue = "false")
+    boolean histogram;
+
+    @Produces
+    @Singleton
+    MeterFilter latencyDistribution() {
+        DistributionStatisticConfig latency = DistributionStatisticConfig.builder()
+                .percentiles(percentiles.stream().mapToDouble(Double::doubleValue).toArray())
+                .percentilesHistogram(histogram)
+                .build();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return id.getType() == Meter.Type.TIMER ? latency.merge(config) : config;
+            }
+        };
+    }
+
+    // The registry is passed to the observer rather than injected: it is built from the filter above.
+    void onStart(@Observes StartupEvent event, MeterRegistry registry) {
+        if (!(ExecutorRecorder.getCurrent() instanceof EnhancedQueueExecutor executor)) {
+            return;
+        }
+        Tags tags = Tags.of("name", "worker");
+        registry.gauge("executor_queued_tasks", tags, executor, EnhancedQueueExecutor::getQueueSize);
+        registry.gauge("executor_active_threads", tags, executor, EnhancedQueueExecutor::getActiveCount);
+        registry.gauge("executor_pool_size_threads", tags, executor, EnhancedQueueExecutor::getPoolSize);
+        registry.gauge("executor_pool_max_threads", tags, executor, EnhancedQueueExecutor::getMaximumPoolSize);
+        FunctionCounter.builder("executor_rejected_tasks", executor, EnhancedQueueExecutor::getRejectedTaskCount)
+                .tags(tags)
+                .register(registry);
+    }
+}
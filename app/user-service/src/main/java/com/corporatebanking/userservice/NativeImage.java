@@ -0,0 +1,16 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.jfr.JfrStatistics;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Reflection registrations for the native build ({@code -Pnative}) that no extension makes:
+ * entities Jackson serializes from untyped {@code Response}s. Hibernate, gRPC and
+ * quarkus-jdbc-oracle (or the reactive Oracle client) configure themselves.
+ */
+@RegisterForReflection(targets = JfrStatistics.Row.class)
+public final class NativeImage {
+
+    private NativeImage() {
+    }
+}
@@ -0,0 +1,181 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.repository.ReplicaReads;
+import com.corporatebanking.userservice.repository.UserStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends the reads behind GetUser and ListUsers to the {@code read} datasource when
+ * {@code read-datasource.enabled} is set; writes and the reads they depend on stay on the
+ * primary. A user written through this instance is read from the primary for
+ * {@code read-datasource.read-your-writes} afterwards, so a client sees its own change while the
+ * replica catches up; the gateway's affinity routing sends a user's calls to the instance that
+ * made the write. Reads also fall back to the primary while the replica lags by more than
+ * {@code read-datasource.max-lag}, when it fails, and when it does not have the user yet.
+ *
+ * <p>Lag is the age of the oldest primary change the replica does not have: the first
+ * {@code updated_at} on the primary after the newest one on the replica, checked every
+ * {@code read-datasource.lag-interval}.
+ */
+@ApplicationScoped
+public class ReadRouting {
+
+    private static final Logger LOG = Logger.getLogger(ReadRouting.class);
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @ConfigProperty(name = "read-datasource.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "read-datasource.read-your-writes", defaultValue = "PT5S")
+    Duration readYourWrites;
+
+    @ConfigProperty(name = "read-datasource.max-lag", defaultValue = "PT30S")
+    Duration maxLag;
+
+    @ConfigProperty(name = "read-datasource.lag-interval", defaultValue = "PT5S")
+    Duration lagInterval;
+
+    @Inject
+    UserStore userStore;
+
+    @Inject
+    ReplicaReads replica;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final ConcurrentHashMap<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private volatile long lagMillis;
+    private volatile boolean lagging;
+    private ScheduledExecutorService monitor;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        registry.gauge("user_read_replica_lag_seconds", this, routing -> routing.lagMillis / 1000.0);
+        registry.gauge("user_read_recent_writes", recentWrites, ConcurrentHashMap::size);
+        monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::measureLag, 0, lagInterval.toMillis(), TimeUnit.MILLISECONDS);
+        LOG.infof("Reading users from the read datasource, read-your-writes for %s", readYourWrites);
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        if (monitor != null) {
+            monitor.shutdownNow();
+        }
+    }
+
+    /**
+     * Records a write of the user, so its reads stay on the primary for the read-your-writes window.
+     */
+    public void wrote(String userId) {
+        if (enabled) {
+            recentWrites.put(userId, System.nanoTime() + readYourWrites.toNanos());
+        }
+    }
+
+    public Uni<UserEntity> findByUserId(String userId) {
+        Supplier<Uni<UserEntity>> primary = () -> userStore.findByUserId(userId);
+        String reason = primaryReason(userId);
+        if (reason != null) {
+            return onPrimary(reason, primary);
+        }
+        // Not on the replica may just mean not replicated yet.
+        return onReplica(() -> replica.findByUserId(userId), primary)
+                .chain(user -> user != null ? Uni.createFrom().item(user) : onPrimary("replica-miss", primary));
+    }
+
+    public Uni<Long> count() {
+        Supplier<Uni<Long>> primary = userStore::count;
+        String reason = primaryReason(null);
+        return reason != null ? onPrimary(reason, primary) : onReplica(replica::count, primary);
+    }
+
+    public Uni<List<UserEntity>> findPage(int pageIndex, int pageSize) {
+        Supplier<Uni<List<UserEntity>>> primary = () -> userStore.findPage(pageIndex, pageSize);
+        String reason = primaryReason(null);
+        return reason != null
+                ? onPrimary(reason, primary)
+                : onReplica(() -> replica.findPage(pageIndex, pageSize), primary);
+    }
+
+    private String primaryReason(String userId) {
+        if (!enabled) {
+            return "disabled";
+        }
+        if (userId != null) {
+            Long until = recentWrites.get(userId);
+            if (until != null) {
+                if (until - System.nanoTime() > 0) {
+                    return "recent-write";
+                }
+                recentWrites.remove(userId, until);
+            }
+        }
+        return lagging ? "lag" : null;
+    }
+
+    private <T> Uni<T> onPrimary(String reason, Supplier<Uni<T>> primary) {
+        if (enabled) {
+            registry.counter("user_read_routing", "target", "primary", "reason", reason).increment();
+        }
+        return primary.get();
+    }
+
+    private <T> Uni<T> onReplica(Supplier<Uni<T>> read, Supplier<Uni<T>> primary) {
+        registry.counter("user_read_routing", "target", "replica", "reason", "default").increment();
+        return read.get().onFailure().recoverWithUni(e -> {
+            LOG.debugf("Read replica query failed, using the primary: %s", e.getMessage());
+            return onPrimary("replica-error", primary);
+        });
+    }
+
+    void measureLag() {
+        long now = System.nanoTime();
+        recentWrites.values().removeIf(until -> until - now <= 0);
+        try {
+            LocalDateTime replicated = userStore.await(replica::findLatestUpdate);
+            LocalDateTime oldestMissing = userStore.await(
+                    () -> userStore.findOldestUpdateAfter(replicated != null ? replicated : EPOCH));
+            lagMillis = oldestMissing != null
+                    ? Math.max(0L, Duration.between(oldestMissing, LocalDateTime.now()).toMillis())
+                    : 0L;
+            setLagging(lagMillis > maxLag.toMillis(), "lags by " + lagMillis + " ms");
+        } catch (Exception e) {
+            setLagging(true, "lag check failed: " + e.getMessage());
+        }
+    }
+
+    private void setLagging(boolean behind, String detail) {
+        if (behind && !lagging) {
+            LOG.warnf("Read replica %s; reading from the primary until it catches up", detail);
+        } else if (!behind && lagging) {
+            LOG.infof("Read replica caught up; reading from it again");
+        }
+        lagging = behind;
+    }
+}
@@ -0,0 +1,43 @@
+package com.corporatebanking.userservice;
+
+import io.grpc.Context;
+import io.smallrye.common.vertx.ContextLocals;
+import io.smallrye.common.vertx.VertxContext;
+
+/**
+ * Durations of the store queries of the gRPC call being served, returned to the gateway in the
+ * {@code server-timing} trailer when it asked for them. Looked up through the gRPC context, which
+ * the blocking executor carries over to the worker, or, for reactive queries completing on the
+ * event loop, through the call's duplicated Vert.x context.
+ */
+public final class ServerTiming {
+
+    static final String NAME = "server-timing";
+    static final Context.Key<ServerTiming> KEY = Context.key(NAME);
+
+    private final StringBuilder entries = new StringBuilder(128);
+
+    /**
+     * @return the timings of the current call, or null when it did not ask for them
+     */
+    public static ServerTiming current() {
+        ServerTiming timing = KEY.get();
+        if (timing == null && VertxContext.isOnDuplicatedContext()) {
+            timing = ContextLocals.get(NAME, null);
+        }
+        return timing;
+    }
+
+    public synchronized void add(String name, long nanos, String description) {
+        if (!entries.isEmpty()) {
+            entries.append(", ");
+        }
+        entries.append(name)
+                .append(";dur=").append(nanos / 1_000_000).append('.').append(nanos / 100_000 % 10)
+                .append(";desc=\"").append(description).append('"');
+    }
+
+    synchronized String header() {
+        return entries.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.grpc.UserResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-replica cache of users by id, off by default. Only pays off when the gateway routes a
+ * user's calls to the same replica, which its affinity routing mode does. Writes through this
+ * replica keep it current, but a write through another replica (spill, ejection, membership
+ * change) is only seen once the entry expires, so {@code user-cache.ttl} is how stale a
+ * {@code GetUser} answer can be. Hits, misses and size are published as {@code user_cache_*}
+ * metrics so the hit rate can be compared across replicas.
+ */
+@ApplicationScoped
+public class UserCache {
+
+    @ConfigProperty(name = "user-cache.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "user-cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    @ConfigProperty(name = "user-cache.ttl", defaultValue = "PT5S")
+    Duration ttl;
+
+    @Inject
+    MeterRegistry registry;
+
+    /** Nanosecond time source, {@link System#nanoTime()} outside tests. */
+    LongSupplier clock = System::nanoTime;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        hits = registry.counter("user_cache_hits");
+        misses = registry.counter("user_cache_misses");
+        registry.gauge("user_cache_size", this, UserCache::size);
+    }
+
+    public UserResponse get(String userId) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt - clock.getAsLong() > 0) {
+            hits.increment();
+            return entry.user;
+        }
+        if (entry != null) {
+            entries.remove(userId, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(UserResponse user) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        entries.put(user.getUserId(), new Entry(user, now + ttl.toNanos()));
+        if (entries.size() > maxSize) {
+            evict(now);
+        }
+    }
+
+    public void invalidate(String userId) {
+        entries.remove(userId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Without a lock there is no recency order: expired entries go first, then arbitrary ones.
+    // Evicting down to 90% keeps the full scan from running on every put at the cap.
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+        int target = maxSize - maxSize / 10;
+        Iterator<String> userIds = entries.keySet().iterator();
+        while (entries.size() > target && userIds.hasNext()) {
+            userIds.next();
+            userIds.remove();
+        }
+    }
+
+    private record Entry(UserResponse user, long expiresAt) {
+    }
+}
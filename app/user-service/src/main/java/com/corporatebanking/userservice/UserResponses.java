@@ -0,0 +1,27 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.grpc.UserResponse;
+
+import java.time.format.DateTimeFormatter;
+
+final class UserResponses {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private UserResponses() {
+    }
+
+    static UserResponse of(UserEntity entity) {
+        return UserResponse.newBuilder()
+                .setUserId(entity.userId)
+                .setEmail(entity.email)
+                .setFirstName(entity.firstName != null ? entity.firstName : "")
+                .setLastName(entity.lastName != null ? entity.lastName : "")
+                .setPhoneNumber(entity.phoneNumber != null ? entity.phoneNumber : "")
+                .setRole(entity.role != null ? entity.role : "")
+                .setCreatedAt(entity.createdAt != null ? entity.createdAt.format(FORMATTER) : "")
+                .setUpdatedAt(entity.updatedAt != null ? entity.updatedAt.format(FORMATTER) : "")
+                .build();
+    }
+}
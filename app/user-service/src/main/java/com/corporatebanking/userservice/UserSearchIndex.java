@@ -0,0 +1,284 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.grpc.UserResponse;
+import com.corporatebanking.userservice.repository.UserStore;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over user names and emails for type-ahead search. Postings are kept
+ * as {@code term \0 userId} strings in a sorted set, so a prefix lookup is a range scan that
+ * stops as soon as enough users are found. The index is built in the background at startup,
+ * updated by this service's writes, and catches up with writes made elsewhere (other replicas,
+ * signups in authorization-service) by polling {@code updated_at}; deletions made elsewhere
+ * are picked up by the periodic full rebuild.
+ */
+@ApplicationScoped
+public class UserSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(UserSearchIndex.class);
+
+    private static final char SEPARATOR = '\0';
+    private static final Pattern WORD_SPLIT = Pattern.compile("[\\s._+\\-@]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int LOAD_PAGE_SIZE = 1000;
+    static final int MAX_SCANNED = 10_000;
+    // Before any row; LocalDateTime.MIN is outside the range an Oracle TIMESTAMP can bind.
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @ConfigProperty(name = "user-search.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "user-search.refresh-interval", defaultValue = "PT30S")
+    Duration refreshInterval;
+
+    @ConfigProperty(name = "user-search.rebuild-interval", defaultValue = "PT15M")
+    Duration rebuildInterval;
+
+    @Inject
+    UserStore userStore;
+
+    private record Indexed(UserResponse user, List<String> terms, long indexedAt) {
+    }
+
+    private final ConcurrentSkipListSet<String> postings = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Indexed> users = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private volatile LocalDateTime lastSeenUpdate;
+    private ScheduledExecutorService maintenance;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.execute(this::rebuild);
+        maintenance.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::rebuild, rebuildInterval.toMillis(), rebuildInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    public void put(UserResponse user) {
+        if (!enabled) {
+            return;
+        }
+        List<String> terms = termsOf(user);
+        users.compute(user.getUserId(), (userId, previous) -> {
+            if (previous != null) {
+                previous.terms().forEach(term -> postings.remove(term + SEPARATOR + userId));
+            }
+            terms.forEach(term -> postings.add(term + SEPARATOR + userId));
+            return new Indexed(user, terms, System.nanoTime());
+        });
+    }
+
+    public void remove(String userId) {
+        users.computeIfPresent(userId, (id, previous) -> {
+            previous.terms().forEach(term -> postings.remove(term + SEPARATOR + id));
+            return null;
+        });
+    }
+
+    /**
+     * Users with a name or email word starting with the first word of the query, and, when
+     * the query has more words, with a word starting with each of those too. Results are in
+     * term order.
+     */
+    public List<UserResponse> search(String query, int limit) {
+        String[] words = words(query);
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String first = words[0];
+        Set<String> matched = new LinkedHashSet<>();
+        int scanned = 0;
+        for (String posting : postings.tailSet(first)) {
+            if (!posting.startsWith(first) || ++scanned > MAX_SCANNED) {
+                break;
+            }
+            String userId = posting.substring(posting.indexOf(SEPARATOR) + 1);
+            if (matched.contains(userId)) {
+                continue;
+            }
+            Indexed indexed = users.get(userId);
+            if (indexed != null && matchesAll(indexed.terms(), words)) {
+                matched.add(userId);
+                if (matched.size() >= limit) {
+                    break;
+                }
+            }
+        }
+
+        List<UserResponse> results = new ArrayList<>(matched.size());
+        for (String userId : matched) {
+            Indexed indexed = users.get(userId);
+            if (indexed != null) {
+                results.add(indexed.user());
+            }
+        }
+        return results;
+    }
+
+    void rebuild() {
+        try {
+            long started = System.nanoTime();
+            long heapBefore = usedHeap();
+            LocalDateTime newest = null;
+            int loaded = 0;
+            String lastUserId = "";
+            while (true) {
+                String after = lastUserId;
+                List<UserEntity> page = userStore.await(() -> userStore.findPageAfter(after, LOAD_PAGE_SIZE));
+                for (UserEntity entity : page) {
+                    put(UserResponses.of(entity));
+                    if (entity.updatedAt != null && (newest == null || entity.updatedAt.isAfter(newest))) {
+                        newest = entity.updatedAt;
+                    }
+                    lastUserId = entity.userId;
+                }
+                loaded += page.size();
+                if (page.size() < LOAD_PAGE_SIZE) {
+                    break;
+                }
+            }
+            users.forEach((userId, indexed) -> {
+                if (indexed.indexedAt() < started) {
+                    remove(userId);
+                }
+            });
+            if (newest != null && (lastSeenUpdate == null || newest.isAfter(lastSeenUpdate))) {
+                lastSeenUpdate = newest;
+            }
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (!ready) {
+                long heapDelta = Math.max(0L, usedHeap() - heapBefore);
+                long perUser = loaded > 0 ? heapDelta / loaded : 0L;
+                LOG.infof("Built user search index: %d users, %d terms in %d ms, about %d bytes per user"
+                                + " (~%d MB per 1M users)",
+                        loaded, postings.size(), elapsedMs, perUser, perUser * 1_000_000L / (1024 * 1024));
+                ready = true;
+            } else {
+                LOG.debugf("Rebuilt user search index: %d users in %d ms", loaded, elapsedMs);
+            }
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to build user search index");
+        }
+    }
+
+    void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            // updated_at is set before commit, so a write can become visible after a newer one was
+            // already seen. Re-reading one interval back catches it; put is idempotent.
+            LocalDateTime since = lastSeenUpdate != null ? lastSeenUpdate.minus(refreshInterval) : EPOCH;
+            List<UserEntity> changed = userStore.await(() -> userStore.findUpdatedSince(since));
+            for (UserEntity entity : changed) {
+                put(UserResponses.of(entity));
+                LocalDateTime seen = lastSeenUpdate;
+                if (entity.updatedAt != null && (seen == null || entity.updatedAt.isAfter(seen))) {
+                    lastSeenUpdate = entity.updatedAt;
+                }
+            }
+        } catch (Exception e) {
+            LOG.warnf("Failed to refresh user search index: %s", e.getMessage());
+        }
+    }
+
+    static List<String> termsOf(UserResponse user) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String field : new String[]{user.getFirstName(), user.getLastName(), user.getEmail()}) {
+            for (String word : words(field)) {
+                terms.add(word);
+            }
+        }
+        String email = normalize(user.getEmail());
+        if (!email.isEmpty()) {
+            terms.add(email);
+        }
+        return List.copyOf(terms);
+    }
+
+    private static boolean matchesAll(List<String> terms, String[] words) {
+        for (int i = 1; i < words.length; i++) {
+            boolean found = false;
+            for (String term : terms) {
+                if (term.startsWith(words[i])) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] words(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return new String[0];
+        }
+        return WORD_SPLIT.splitAsStream(normalized).filter(word -> !word.isEmpty()).toArray(String[]::new);
+    }
+
+    private static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
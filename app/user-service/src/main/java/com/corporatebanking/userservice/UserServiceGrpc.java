@@ -9,18 +9,21 @@ import com.corporatebanking.userservice.grpc.ListUsersRequest;
 import com.corporatebanking.userservice.grpc.UserResponse;
 import com.corporatebanking.userservice.grpc.DeleteUserResponse;
 import com.corporatebanking.userservice.grpc.ListUsersResponse;
+import com.corporatebanking.userservice.grpc.SearchUsersRequest;
+import com.corporatebanking.userservice.grpc.SearchUsersResponse;
 import com.corporatebanking.userservice.entity.UserEntity;
-import com.corporatebanking.userservice.repository.UserRepository;
+import com.corporatebanking.userservice.repository.UserStore;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.quarkus.grpc.GrpcService;
 import io.smallrye.mutiny.Uni;
-import io.smallrye.mutiny.infrastructure.Infrastructure;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.hibernate.exception.ConstraintViolationException;
 import org.jboss.logging.Logger;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,180 +32,246 @@ import java.util.stream.Collectors;
 public class UserServiceGrpc implements UserService {
 
     private static final Logger LOG = Logger.getLogger(UserServiceGrpc.class);
-    private final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final int MAX_SEARCH_RESULTS = 50;
 
     @Inject
-    UserRepository userRepository;
+    UserStore userStore;
+
+    @Inject
+    UserCache userCache;
+
+    @Inject
+    UserSearchIndex searchIndex;
+
+    @Inject
+    LogSampler logSampler;
+
+    @Inject
+    ReadRouting readRouting;
 
     @Override
     public Uni<UserResponse> createUser(CreateUserRequest request) {
-        return Uni.createFrom().item(() -> {
-            try {
-                LOG.infof("Creating user with email: %s", request.getEmail());
-                
-                UserEntity existingUser = userRepository.findByEmail(request.getEmail());
-                if (existingUser != null) {
-                    throw new RuntimeException("User with email already exists: " + request.getEmail());
-                }
-                
-                String userId = "user-" + UUID.randomUUID().toString();
-                UserEntity userEntity = new UserEntity();
-                userEntity.userId = userId;
-                userEntity.email = request.getEmail();
-                userEntity.firstName = request.getFirstName();
-                userEntity.lastName = request.getLastName();
-                userEntity.phoneNumber = request.getPhoneNumber();
-                userEntity.role = request.getRole();
-                
-                userRepository.persist(userEntity);
-                
-                LOG.infof("User created successfully with ID: %s", userId);
-                return toUserResponse(userEntity);
-            } catch (Exception e) {
-                LOG.errorf(e, "Error creating user");
-                throw new RuntimeException("Failed to create user: " + e.getMessage(), e);
-            }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        CallBudget budget = CallBudget.current();
+        LOG.infof("Creating user with email: %s", request.getEmail());
+        return Uni.createFrom().voidItem()
+                .invoke(() -> budget.check("findByEmail"))
+                .chain(() -> userStore.findByEmail(request.getEmail()))
+                .chain(existingUser -> {
+                    if (existingUser != null) {
+                        throw Status.ALREADY_EXISTS
+                                .withDescription("User with email already exists: " + request.getEmail())
+                                .asRuntimeException();
+                    }
+
+                    UserEntity userEntity = new UserEntity();
+                    userEntity.userId = "user-" + UUID.randomUUID().toString();
+                    userEntity.email = request.getEmail();
+                    userEntity.firstName = request.getFirstName();
+                    userEntity.lastName = request.getLastName();
+                    userEntity.phoneNumber = request.getPhoneNumber();
+                    userEntity.role = request.getRole();
+
+                    budget.check("persist");
+                    return userStore.create(userEntity);
+                })
+                .map(userEntity -> {
+                    LOG.infof("User created successfully with ID: %s", userEntity.userId);
+                    readRouting.wrote(userEntity.userId);
+                    UserResponse response = toUserResponse(userEntity);
+                    userCache.put(response);
+                    searchIndex.put(response);
+                    return response;
+                })
+                .onFailure(UserServiceGrpc::isDuplicateEmail).transform(e -> Status.ALREADY_EXISTS
+                        .withDescription("User with email already exists: " + request.getEmail())
+                        .withCause(e)
+                        .asRuntimeException())
+                .onFailure().transform(e -> failure(e, "Error creating user", "Failed to create user"));
     }
 
     @Override
     public Uni<UserResponse> getUser(GetUserRequest request) {
-        return Uni.createFrom().item(() -> {
-            try {
-                LOG.infof("Getting user with ID: %s", request.getUserId());
-                
-                UserEntity userEntity = userRepository.findByUserId(request.getUserId());
-                if (userEntity == null) {
-                    LOG.warnf("User not found with ID: %s", request.getUserId());
-                    throw new RuntimeException("User not found with ID: " + request.getUserId());
-                }
-                
-                return toUserResponse(userEntity);
-            } catch (Exception e) {
-                LOG.errorf(e, "Error getting user");
-                throw new RuntimeException("Failed to get user: " + e.getMessage(), e);
-            }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        UserResponse cached = userCache.get(request.getUserId());
+        if (cached != null) {
+            return Uni.createFrom().item(cached);
+        }
+
+        CallBudget budget = CallBudget.current();
+        if (logSampler.sample("getUser")) {
+            LOG.infof("Getting user with ID: %s", request.getUserId());
+        }
+        return Uni.createFrom().voidItem()
+                .invoke(() -> budget.check("findByUserId"))
+                .chain(() -> readRouting.findByUserId(request.getUserId()))
+                .map(userEntity -> {
+                    if (userEntity == null) {
+                        LOG.warnf("User not found with ID: %s", request.getUserId());
+                        throw new RuntimeException("User not found with ID: " + request.getUserId());
+                    }
+
+                    UserResponse response = toUserResponse(userEntity);
+                    userCache.put(response);
+                    return response;
+                })
+                .onFailure().transform(e -> failure(e, "Error getting user", "Failed to get user"));
     }
 
     @Override
     public Uni<UserResponse> updateUser(UpdateUserRequest request) {
-        return Uni.createFrom().item(() -> {
-            try {
-                LOG.infof("Updating user with ID: %s", request.getUserId());
-                
-                UserEntity userEntity = userRepository.findByUserId(request.getUserId());
-                if (userEntity == null) {
-                    LOG.warnf("User not found with ID: %s", request.getUserId());
-                    throw new RuntimeException("User not found with ID: " + request.getUserId());
-                }
-                
-                if (!request.getEmail().isEmpty()) {
-                    UserEntity existingEmail = userRepository.findByEmail(request.getEmail());
-                    if (existingEmail != null && !existingEmail.userId.equals(request.getUserId())) {
-                        throw new RuntimeException("Email already in use: " + request.getEmail());
+        CallBudget budget = CallBudget.current();
+        LOG.infof("Updating user with ID: %s", request.getUserId());
+        return Uni.createFrom().voidItem()
+                .invoke(() -> budget.check("findByUserId"))
+                .chain(() -> userStore.findByUserId(request.getUserId()))
+                .chain(userEntity -> {
+                    if (userEntity == null) {
+                        LOG.warnf("User not found with ID: %s", request.getUserId());
+                        throw new RuntimeException("User not found with ID: " + request.getUserId());
                     }
-                    userEntity.email = request.getEmail();
-                }
-                if (!request.getFirstName().isEmpty()) {
-                    userEntity.firstName = request.getFirstName();
-                }
-                if (!request.getLastName().isEmpty()) {
-                    userEntity.lastName = request.getLastName();
-                }
-                if (!request.getPhoneNumber().isEmpty()) {
-                    userEntity.phoneNumber = request.getPhoneNumber();
-                }
-                if (!request.getRole().isEmpty()) {
-                    userEntity.role = request.getRole();
-                }
-                
-                userRepository.persist(userEntity);
-                
-                LOG.infof("User updated successfully with ID: %s", request.getUserId());
-                return toUserResponse(userEntity);
-            } catch (Exception e) {
-                LOG.errorf(e, "Error updating user");
-                throw new RuntimeException("Failed to update user: " + e.getMessage(), e);
-            }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+                    if (request.getEmail().isEmpty()) {
+                        return Uni.createFrom().item(userEntity);
+                    }
+                    return userStore.findByEmail(request.getEmail()).map(existingEmail -> {
+                        if (existingEmail != null && !existingEmail.userId.equals(request.getUserId())) {
+                            throw Status.ALREADY_EXISTS
+                                    .withDescription("Email already in use: " + request.getEmail())
+                                    .asRuntimeException();
+                        }
+                        userEntity.email = request.getEmail();
+                        return userEntity;
+                    });
+                })
+                .chain(userEntity -> {
+                    if (!request.getFirstName().isEmpty()) {
+                        userEntity.firstName = request.getFirstName();
+                    }
+                    if (!request.getLastName().isEmpty()) {
+                        userEntity.lastName = request.getLastName();
+                    }
+                    if (!request.getPhoneNumber().isEmpty()) {
+                        userEntity.phoneNumber = request.getPhoneNumber();
+                    }
+                    if (!request.getRole().isEmpty()) {
+                        userEntity.role = request.getRole();
+                    }
+
+                    budget.check("persist");
+                    return userStore.update(userEntity);
+                })
+                .map(userEntity -> {
+                    LOG.infof("User updated successfully with ID: %s", request.getUserId());
+                    readRouting.wrote(request.getUserId());
+                    UserResponse response = toUserResponse(userEntity);
+                    userCache.put(response);
+                    searchIndex.put(response);
+                    return response;
+                })
+                .onFailure(UserServiceGrpc::isDuplicateEmail).transform(e -> Status.ALREADY_EXISTS
+                        .withDescription("Email already in use: " + request.getEmail())
+                        .withCause(e)
+                        .asRuntimeException())
+                .onFailure().transform(e -> failure(e, "Error updating user", "Failed to update user"));
     }
 
     @Override
     public Uni<DeleteUserResponse> deleteUser(DeleteUserRequest request) {
-        return Uni.createFrom().item(() -> {
-            try {
-                LOG.infof("Deleting user with ID: %s", request.getUserId());
-                
-                UserEntity userEntity = userRepository.findByUserId(request.getUserId());
-                if (userEntity == null) {
-                    LOG.warnf("User not found with ID: %s", request.getUserId());
+        CallBudget budget = CallBudget.current();
+        LOG.infof("Deleting user with ID: %s", request.getUserId());
+        return Uni.createFrom().voidItem()
+                .invoke(() -> budget.check("delete"))
+                .chain(() -> userStore.deleteByUserId(request.getUserId()))
+                .map(deleted -> {
+                    if (!deleted) {
+                        LOG.warnf("User not found with ID: %s", request.getUserId());
+                        return DeleteUserResponse.newBuilder()
+                                .setSuccess(false)
+                                .setMessage("User not found with ID: " + request.getUserId())
+                                .build();
+                    }
+
+                    userCache.invalidate(request.getUserId());
+                    searchIndex.remove(request.getUserId());
+                    readRouting.wrote(request.getUserId());
+
+                    LOG.infof("User deleted successfully with ID: %s", request.getUserId());
+                    return DeleteUserResponse.newBuilder()
+                            .setSuccess(true)
+                            .setMessage("User deleted successfully")
+                            .build();
+                })
+                .onFailure(StatusRuntimeException.class).invoke(e -> LOG.warnf("Skipping work for abandoned call: %s",
+                        ((StatusRuntimeException) e).getStatus().getDescription()))
+                .onFailure(e -> !(e instanceof StatusRuntimeException)).recoverWithItem(e -> {
+                    LOG.errorf(e, "Error deleting user");
                     return DeleteUserResponse.newBuilder()
                             .setSuccess(false)
-                            .setMessage("User not found with ID: " + request.getUserId())
+                            .setMessage("Failed to delete user: " + e.getMessage())
                             .build();
-                }
-                
-                userRepository.delete(userEntity);
-                
-                LOG.infof("User deleted successfully with ID: %s", request.getUserId());
-                return DeleteUserResponse.newBuilder()
-                        .setSuccess(true)
-                        .setMessage("User deleted successfully")
-                        .build();
-            } catch (Exception e) {
-                LOG.errorf(e, "Error deleting user");
-                return DeleteUserResponse.newBuilder()
-                        .setSuccess(false)
-                        .setMessage("Failed to delete user: " + e.getMessage())
-                        .build();
-            }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+                });
     }
 
     @Override
     public Uni<ListUsersResponse> listUsers(ListUsersRequest request) {
-        return Uni.createFrom().item(() -> {
-            try {
-                LOG.infof("Listing users - page: %d, pageSize: %d", request.getPage(), request.getPageSize());
-                
-                int page = request.getPage() > 0 ? request.getPage() : 1;
-                int pageSize = request.getPageSize() > 0 ? request.getPageSize() : 10;
-                
-                long totalCount = userRepository.count();
-                int offset = (page - 1) * pageSize;
-                
-                List<UserEntity> userEntities = userRepository.findAll()
-                        .page(offset / pageSize, pageSize)
-                        .list();
-                
-                List<UserResponse> userResponses = userEntities.stream()
-                        .map(this::toUserResponse)
-                        .collect(Collectors.toList());
-                
-                return ListUsersResponse.newBuilder()
-                        .addAllUsers(userResponses)
-                        .setTotalCount((int) totalCount)
-                        .setPage(page)
-                        .setPageSize(pageSize)
-                        .build();
-            } catch (Exception e) {
-                LOG.errorf(e, "Error listing users");
-                throw new RuntimeException("Failed to list users: " + e.getMessage(), e);
-            }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+        CallBudget budget = CallBudget.current();
+        LOG.infof("Listing users - page: %d, pageSize: %d", request.getPage(), request.getPageSize());
+
+        int page = request.getPage() > 0 ? request.getPage() : 1;
+        int pageSize = request.getPageSize() > 0 ? request.getPageSize() : 10;
+        return Uni.createFrom().voidItem()
+                .invoke(() -> budget.check("count"))
+                .chain(() -> readRouting.count())
+                .chain(totalCount -> readRouting.findPage(page - 1, pageSize)
+                        .map(userEntities -> ListUsersResponse.newBuilder()
+                                .addAllUsers(userEntities.stream()
+                                        .map(this::toUserResponse)
+                                        .collect(Collectors.toList()))
+                                .setTotalCount(totalCount.intValue())
+                                .setPage(page)
+                                .setPageSize(pageSize)
+                                .build()))
+                .onFailure().transform(e -> failure(e, "Error listing users", "Failed to list users"));
+    }
+
+    @Override
+    public Uni<SearchUsersResponse> searchUsers(SearchUsersRequest request) {
+        // Served from memory on the calling thread; no database access.
+        if (!searchIndex.isReady()) {
+            return Uni.createFrom().failure(Status.UNAVAILABLE
+                    .withDescription("User search index is still loading")
+                    .asRuntimeException());
+        }
+        int limit = request.getLimit() > 0 ? Math.min(request.getLimit(), MAX_SEARCH_RESULTS) : 10;
+        List<UserResponse> users = searchIndex.search(request.getQuery(), limit);
+        return Uni.createFrom().item(SearchUsersResponse.newBuilder().addAllUsers(users).build());
     }
 
     private UserResponse toUserResponse(UserEntity entity) {
-        return UserResponse.newBuilder()
-                .setUserId(entity.userId)
-                .setEmail(entity.email)
-                .setFirstName(entity.firstName != null ? entity.firstName : "")
-                .setLastName(entity.lastName != null ? entity.lastName : "")
-                .setPhoneNumber(entity.phoneNumber != null ? entity.phoneNumber : "")
-                .setRole(entity.role != null ? entity.role : "")
-                .setCreatedAt(entity.createdAt != null ? entity.createdAt.format(formatter) : "")
-                .setUpdatedAt(entity.updatedAt != null ? entity.updatedAt.format(formatter) : "")
-                .build();
+        return UserResponses.of(entity);
+    }
+
+    // A concurrent create or update with the same email, in any case, gets past findByEmail and fails on
+    // uk_users_email or idx_users_email_lower.
+    private static boolean isDuplicateEmail(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains("email");
+            }
+        }
+        return false;
+    }
+
+    private static Throwable failure(Throwable e, String logMessage, String errorMessage) {
+        if (e instanceof StatusRuntimeException status) {
+            Status.Code code = status.getStatus().getCode();
+            if (code == Status.Code.CANCELLED || code == Status.Code.DEADLINE_EXCEEDED) {
+                LOG.warnf("Skipping work for abandoned call: %s", status.getStatus().getDescription());
+            } else {
+                LOG.warnf("%s: %s", logMessage, status.getStatus().getDescription());
+            }
+            return e;
+        }
+        LOG.error(logMessage, e);
+        return new RuntimeException(errorMessage + ": " + e.getMessage(), e);
     }
 }
@@ -0,0 +1,204 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.grpc.GetUserRequest;
+import com.corporatebanking.userservice.grpc.ListUsersRequest;
+import com.corporatebanking.userservice.grpc.SearchUsersRequest;
+import com.corporatebanking.userservice.repository.UserStore;
+import io.quarkus.grpc.GrpcService;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the hot paths once after startup - database connections and queries, the GetUser and
+ * ListUsers handlers, and SearchUsers once the index is built - so the first real calls don't
+ * pay for connection setup, class loading and interpreted code. Readiness on
+ * {@code /q/health/ready} stays DOWN, and the Consul registration waits, until it has finished
+ * or {@code warmup.timeout} has passed.
+ */
+@Readiness
+@ApplicationScoped
+public class Warmup implements HealthCheck {
+
+    private static final Logger LOG = Logger.getLogger(Warmup.class);
+
+    private static final int PAGE_SIZE = 20;
+
+    @ConfigProperty(name = "warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "warmup.iterations", defaultValue = "200")
+    int iterations;
+
+    @ConfigProperty(name = "warmup.connections", defaultValue = "5")
+    int connections;
+
+    @ConfigProperty(name = "warmup.timeout", defaultValue = "PT2M")
+    Duration timeout;
+
+    @Inject
+    UserStore userStore;
+
+    @Inject
+    UserSearchIndex searchIndex;
+
+    @Inject
+    @GrpcService
+    UserServiceGrpc userService;
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private volatile String step = "pending";
+    private UserEntity sample;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            step = "disabled";
+            done.complete(null);
+            return;
+        }
+        done.completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        Thread thread = new Thread(this::run, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("warmup").status(done.isDone()).withData("step", step).build();
+    }
+
+    /**
+     * Runs the action once warm-up has finished or timed out.
+     */
+    public void whenDone(Runnable action) {
+        done.thenRunAsync(action);
+    }
+
+    private void run() {
+        long started = System.nanoTime();
+        step("connections", this::openConnections);
+        step("queries", this::runQueries);
+        step("handlers", this::callHandlers);
+        step("search", this::search);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        if (done.complete(null)) {
+            step = "done";
+            LOG.infof("Warm-up finished in %d ms", elapsedMs);
+        } else {
+            LOG.warnf("Warm-up did not finish within %s and was reported ready at step %s", timeout, step);
+        }
+    }
+
+    private void step(String name, Step work) {
+        if (done.isDone()) {
+            return;
+        }
+        step = name;
+        long started = System.nanoTime();
+        try {
+            work.run();
+            LOG.infof("Warm-up step %s took %d ms", name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            LOG.warnf("Warm-up step %s failed: %s", name, e.getMessage());
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    // Concurrent queries from separate threads make the pool open that many connections. Each
+    // await gets its own session; in reactive mode one session must not run queries in parallel.
+    private void openConnections() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(connections, runnable -> {
+            Thread thread = new Thread(runnable, "warmup-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> counts = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                counts.add(pool.submit(() -> userStore.await(userStore::count)));
+            }
+            for (Future<Long> count : counts) {
+                count.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void runQueries() {
+        for (int i = 0; i < iterations; i++) {
+            userStore.await(userStore::count);
+            List<UserEntity> page = userStore.await(() -> userStore.findPage(0, PAGE_SIZE));
+            page.forEach(UserResponses::of);
+            if (!page.isEmpty()) {
+                sample = page.get(0);
+                userStore.await(() -> userStore.findByUserId(sample.userId));
+                userStore.await(() -> userStore.findByEmail(sample.email));
+                userStore.await(() -> userStore.findPageAfter(sample.userId, PAGE_SIZE));
+            }
+        }
+    }
+
+    // Only reads of a user that exists, so warm-up logs no not-found warnings. ListUsers logs
+    // every call, so it runs once; the queries step already covered its statements.
+    private void callHandlers() {
+        userStore.await(() -> userService.listUsers(ListUsersRequest.newBuilder()
+                .setPage(1)
+                .setPageSize(PAGE_SIZE)
+                .build()));
+        if (sample == null) {
+            LOG.debug("No users to warm up GetUser with");
+            return;
+        }
+        GetUserRequest request = GetUserRequest.newBuilder().setUserId(sample.userId).build();
+        for (int i = 0; i < iterations; i++) {
+            userStore.await(() -> userService.getUser(request));
+        }
+    }
+
+    private void search() throws InterruptedException {
+        if (!searchIndex.isEnabled()) {
+            return;
+        }
+        // SearchUsers answers UNAVAILABLE until the index is built, so readiness waits for it too.
+        while (!searchIndex.isReady()) {
+            if (done.isDone()) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        List<String> queries = new ArrayList<>(List.of("a", "jo", "smi"));
+        if (sample != null) {
+            queries.add(sample.firstName);
+            queries.add(sample.email);
+        }
+        for (int i = 0; i < iterations; i++) {
+            for (String query : queries) {
+                if (query != null) {
+                    userService.searchUsers(SearchUsersRequest.newBuilder().setQuery(query).build())
+                            .await().indefinitely();
+                }
+            }
+        }
+    }
+}
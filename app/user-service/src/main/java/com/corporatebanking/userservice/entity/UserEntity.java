@@ -1,6 +1,5 @@
 package com.corporatebanking.userservice.entity;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import org.jboss.logging.Logger;
 
@@ -8,7 +7,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
-public class UserEntity extends PanacheEntityBase {
+public class UserEntity {
 
     private static final Logger LOG = Logger.getLogger(UserEntity.class);
 
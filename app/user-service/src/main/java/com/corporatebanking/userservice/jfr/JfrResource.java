@@ -0,0 +1,30 @@
+package com.corporatebanking.userservice.jfr;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+
+/**
+ * Rolling JFR statistics on the management HTTP port, which is not routed through the gateway.
+ */
+@Path("/admin/jfr")
+public class JfrResource {
+
+    @Inject
+    JfrStatistics statistics;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response statistics() {
+        if (!statistics.enabled()) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        List<JfrStatistics.Row> rows = statistics.snapshot();
+        return Response.ok(rows).build();
+    }
+}
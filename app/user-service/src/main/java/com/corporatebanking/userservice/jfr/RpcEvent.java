@@ -0,0 +1,26 @@
+package com.corporatebanking.userservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("corporatebanking.Rpc")
+@Label("gRPC Call")
+@Description("A gRPC call served by this service; the outcome is the gRPC status code")
+@Category({"Corporate Banking", "gRPC"})
+public class RpcEvent extends OperationEvent {
+
+    @Label("Request Size")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+
+    public RpcEvent(String method) {
+        super(method);
+    }
+}
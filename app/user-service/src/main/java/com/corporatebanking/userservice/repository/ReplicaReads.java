@@ -0,0 +1,30 @@
+package com.corporatebanking.userservice.repository;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import io.smallrye.mutiny.Uni;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only queries against the {@code read} datasource, a replica of the primary that may lag
+ * behind it. Plain SQL rather than Hibernate: Panache binds an entity to one persistence unit.
+ * Implemented per persistence mode like {@link UserStore}; callers go through
+ * {@link com.corporatebanking.userservice.ReadRouting}, which decides when the replica is used.
+ */
+public interface ReplicaReads {
+
+    Uni<UserEntity> findByUserId(String userId);
+
+    Uni<Long> count();
+
+    /**
+     * The same page, in the same order, as {@link UserStore#findPage}.
+     */
+    Uni<List<UserEntity>> findPage(int pageIndex, int pageSize);
+
+    /**
+     * The newest {@code updated_at} the replica has, or null when it has no users.
+     */
+    Uni<LocalDateTime> findLatestUpdate();
+}
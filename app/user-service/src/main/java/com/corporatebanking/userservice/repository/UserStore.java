@@ -0,0 +1,48 @@
+package com.corporatebanking.userservice.repository;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import io.smallrye.mutiny.Uni;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Persistence operations behind the gRPC handlers and the search index. The implementation is
+ * chosen at build time: the default {@code orm} Maven profile runs blocking Hibernate ORM Panache
+ * calls on the worker pool, the {@code reactive} profile uses Hibernate Reactive Panache and the
+ * reactive Oracle client so handlers never leave the event loop.
+ */
+public interface UserStore {
+
+    Uni<UserEntity> findByUserId(String userId);
+
+    Uni<UserEntity> findByEmail(String email);
+
+    Uni<UserEntity> create(UserEntity user);
+
+    /**
+     * Writes the state of a user loaded earlier and returns the managed copy.
+     */
+    Uni<UserEntity> update(UserEntity user);
+
+    Uni<Boolean> deleteByUserId(String userId);
+
+    Uni<Long> count();
+
+    Uni<List<UserEntity>> findPage(int pageIndex, int pageSize);
+
+    Uni<List<UserEntity>> findPageAfter(String lastUserId, int pageSize);
+
+    Uni<List<UserEntity>> findUpdatedSince(LocalDateTime since);
+
+    /**
+     * The oldest {@code updated_at} after {@code since}, or null when nothing changed since then.
+     */
+    Uni<LocalDateTime> findOldestUpdateAfter(LocalDateTime since);
+
+    /**
+     * Runs a store call from a background thread that is not serving a request and waits for it.
+     */
+    <T> T await(Supplier<Uni<T>> call);
+}
@@ -0,0 +1,131 @@
+package com.corporatebanking.userservice.repository;
+
+import com.corporatebanking.userservice.Instrumented;
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.jfr.QueryEvent;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.virtual.threads.VirtualThreads;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+@ApplicationScoped
+public class OrmReplicaReads implements ReplicaReads {
+
+    private static final String COLUMNS =
+            "user_id, email, first_name, last_name, phone_number, role, created_at, updated_at";
+
+    @Inject
+    @DataSource("read")
+    AgroalDataSource dataSource;
+
+    @Inject
+    @VirtualThreads
+    ExecutorService blockingExecutor;
+
+    @Inject
+    MeterRegistry registry;
+
+    @FunctionalInterface
+    private interface Query<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    @Override
+    public Uni<UserEntity> findByUserId(String userId) {
+        return blocking("findByUserId", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM users WHERE user_id = ?")) {
+                statement.setString(1, userId);
+                List<UserEntity> users = users(statement);
+                return users.isEmpty() ? null : users.get(0);
+            }
+        });
+    }
+
+    @Override
+    public Uni<Long> count() {
+        return blocking("count", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM users");
+                 ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        });
+    }
+
+    @Override
+    public Uni<List<UserEntity>> findPage(int pageIndex, int pageSize) {
+        return blocking("findPage", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT " + COLUMNS
+                    + " FROM users ORDER BY created_at, user_id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY")) {
+                statement.setLong(1, (long) pageIndex * pageSize);
+                statement.setInt(2, pageSize);
+                return users(statement);
+            }
+        });
+    }
+
+    @Override
+    public Uni<LocalDateTime> findLatestUpdate() {
+        return blocking("findLatestUpdate", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT MAX(updated_at) FROM users");
+                 ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return toLocalDateTime(rows.getTimestamp(1));
+            }
+        });
+    }
+
+    private static List<UserEntity> users(PreparedStatement statement) throws SQLException {
+        List<UserEntity> users = new ArrayList<>();
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                UserEntity user = new UserEntity();
+                user.userId = rows.getString(1);
+                user.email = rows.getString(2);
+                user.firstName = rows.getString(3);
+                user.lastName = rows.getString(4);
+                user.phoneNumber = rows.getString(5);
+                user.role = rows.getString(6);
+                user.createdAt = toLocalDateTime(rows.getTimestamp(7));
+                user.updatedAt = toLocalDateTime(rows.getTimestamp(8));
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    // Same threading as OrmUserStore: one hop to the worker pool, only from the event loop.
+    private <T> Uni<T> blocking(String query, Query<T> work) {
+        Uni<T> uni = Uni.createFrom().item(() -> Instrumented.run(
+                registry.timer("db_query", "query", "replica." + query), "user-db-read",
+                new QueryEvent("replica." + query), () -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        return work.run(connection);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Replica query " + query + " failed: " + e.getMessage(), e);
+                    }
+                }));
+        return Context.isOnEventLoopThread()
+                ? uni.runSubscriptionOn(io.grpc.Context.currentContextExecutor(blockingExecutor))
+                : uni;
+    }
+}
@@ -0,0 +1,115 @@
+package com.corporatebanking.userservice.repository;
+
+import com.corporatebanking.userservice.Instrumented;
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.jfr.QueryEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.mutiny.Uni;
+import io.quarkus.virtual.threads.VirtualThreads;
+import io.vertx.core.Context;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+@ApplicationScoped
+public class OrmUserStore implements UserStore {
+
+    @Inject
+    UserRepository repository;
+
+    // Virtual threads when quarkus.virtual-threads.enabled is set and the JVM supports them,
+    // otherwise the worker pool.
+    @Inject
+    @VirtualThreads
+    ExecutorService blockingExecutor;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Override
+    public Uni<UserEntity> findByUserId(String userId) {
+        return blocking("findByUserId", () -> repository.findByUserId(userId));
+    }
+
+    @Override
+    public Uni<UserEntity> findByEmail(String email) {
+        return blocking("findByEmail", () -> repository.findByEmail(email));
+    }
+
+    @Override
+    public Uni<UserEntity> create(UserEntity user) {
+        return blocking("create", () -> QuarkusTransaction.joiningExisting().call(() -> {
+            repository.persist(user);
+            return user;
+        }));
+    }
+
+    @Override
+    public Uni<UserEntity> update(UserEntity user) {
+        return blocking("update", () -> QuarkusTransaction.joiningExisting()
+                .call(() -> repository.getEntityManager().merge(user)));
+    }
+
+    @Override
+    public Uni<Boolean> deleteByUserId(String userId) {
+        return blocking("deleteByUserId", () -> QuarkusTransaction.joiningExisting()
+                .call(() -> repository.delete("userId", userId) > 0));
+    }
+
+    @Override
+    public Uni<Long> count() {
+        return blocking("count", repository::count);
+    }
+
+    @Override
+    public Uni<List<UserEntity>> findPage(int pageIndex, int pageSize) {
+        return blocking("findPage", () -> repository.findPage(pageIndex, pageSize));
+    }
+
+    @Override
+    public Uni<List<UserEntity>> findPageAfter(String lastUserId, int pageSize) {
+        return blocking("findPageAfter", () -> repository.findPageAfter(lastUserId, pageSize));
+    }
+
+    @Override
+    public Uni<List<UserEntity>> findUpdatedSince(LocalDateTime since) {
+        return blocking("findUpdatedSince", () -> repository.findUpdatedSince(since));
+    }
+
+    @Override
+    public Uni<LocalDateTime> findOldestUpdateAfter(LocalDateTime since) {
+        return blocking("findOldestUpdateAfter", () -> repository.findOldestUpdateAfter(since));
+    }
+
+    @Override
+    public <T> T await(Supplier<Uni<T>> call) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        if (requestContext.isActive()) {
+            return call.get().await().indefinitely();
+        }
+        requestContext.activate();
+        try {
+            return call.get().await().indefinitely();
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
+    // Hop to the worker pool only from the event loop; later stages of the same pipeline are
+    // assembled on that worker and run inline, so a handler pays for one hop, not one per query.
+    private <T> Uni<T> blocking(String query, Supplier<T> work) {
+        Uni<T> uni = Uni.createFrom().item(() -> Instrumented.run(registry.timer("db_query", "query", query),
+                "user-db", new QueryEvent(query), work));
+        // The gRPC context travels along so the query shows up in the call's ServerTiming.
+        return Context.isOnEventLoopThread()
+                ? uni.runSubscriptionOn(io.grpc.Context.currentContextExecutor(blockingExecutor))
+                : uni;
+    }
+}
@@ -0,0 +1,44 @@
+package com.corporatebanking.userservice.repository;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+public class UserRepository implements PanacheRepository<UserEntity> {
+
+    public UserEntity findByEmail(String email) {
+        return find("lower(email) = lower(?1)", email).firstResult();
+    }
+
+    public UserEntity findByUserId(String userId) {
+        return find("userId", userId).firstResult();
+    }
+
+    // A stable order, so pages neither repeat nor skip users; served by idx_users_created_user.
+    public List<UserEntity> findPage(int pageIndex, int pageSize) {
+        return findAll(Sort.by("createdAt").and("userId")).page(pageIndex, pageSize).list();
+    }
+
+    public List<UserEntity> findPageAfter(String lastUserId, int pageSize) {
+        return find("userId > ?1", Sort.by("userId"), lastUserId).page(0, pageSize).list();
+    }
+
+    public List<UserEntity> findUpdatedSince(LocalDateTime since) {
+        return find("updatedAt > ?1", Sort.by("updatedAt"), since).list();
+    }
+
+    public LocalDateTime findOldestUpdateAfter(LocalDateTime since) {
+        UserEntity oldest = find("updatedAt > ?1", Sort.by("updatedAt"), since).firstResult();
+        return oldest != null ? oldest.updatedAt : null;
+    }
+}
+
+
+
+
+
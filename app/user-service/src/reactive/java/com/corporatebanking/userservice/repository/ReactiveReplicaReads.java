@@ -0,0 +1,87 @@
+package com.corporatebanking.userservice.repository;
+
+import com.corporatebanking.userservice.Instrumented;
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.jfr.QueryEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+@ApplicationScoped
+public class ReactiveReplicaReads implements ReplicaReads {
+
+    private static final String COLUMNS =
+            "user_id, email, first_name, last_name, phone_number, role, created_at, updated_at";
+
+    @Inject
+    @ReactiveDataSource("read")
+    Pool pool;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Override
+    public Uni<UserEntity> findByUserId(String userId) {
+        return timed("findByUserId", () -> pool.preparedQuery("SELECT " + COLUMNS + " FROM users WHERE user_id = ?")
+                .execute(Tuple.of(userId))
+                .map(rows -> {
+                    List<UserEntity> users = users(rows);
+                    return users.isEmpty() ? null : users.get(0);
+                }));
+    }
+
+    @Override
+    public Uni<Long> count() {
+        return timed("count", () -> pool.preparedQuery("SELECT COUNT(*) FROM users")
+                .execute()
+                .map(rows -> rows.iterator().next().getLong(0)));
+    }
+
+    @Override
+    public Uni<List<UserEntity>> findPage(int pageIndex, int pageSize) {
+        return timed("findPage", () -> pool.preparedQuery("SELECT " + COLUMNS
+                        + " FROM users ORDER BY created_at, user_id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY")
+                .execute(Tuple.of((long) pageIndex * pageSize, pageSize))
+                .map(ReactiveReplicaReads::users));
+    }
+
+    @Override
+    public Uni<LocalDateTime> findLatestUpdate() {
+        return timed("findLatestUpdate", () -> pool.preparedQuery("SELECT MAX(updated_at) FROM users")
+                .execute()
+                .map(rows -> rows.iterator().next().getLocalDateTime(0)));
+    }
+
+    private static List<UserEntity> users(RowSet<Row> rows) {
+        List<UserEntity> users = new ArrayList<>();
+        for (Row row : rows) {
+            UserEntity user = new UserEntity();
+            user.userId = row.getString(0);
+            user.email = row.getString(1);
+            user.firstName = row.getString(2);
+            user.lastName = row.getString(3);
+            user.phoneNumber = row.getString(4);
+            user.role = row.getString(5);
+            user.createdAt = row.getLocalDateTime(6);
+            user.updatedAt = row.getLocalDateTime(7);
+            users.add(user);
+        }
+        return users;
+    }
+
+    private <T> Uni<T> timed(String query, Supplier<Uni<T>> call) {
+        return Instrumented.runAsync(registry.timer("db_query", "query", "replica." + query), "user-db-read",
+                new QueryEvent("replica." + query), call);
+    }
+}
@@ -0,0 +1,95 @@
+package com.corporatebanking.userservice.repository;
+
+import com.corporatebanking.userservice.Instrumented;
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.jfr.QueryEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.vertx.VertxContextSupport;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+@ApplicationScoped
+public class ReactiveUserStore implements UserStore {
+
+    @Inject
+    UserRepository repository;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Override
+    public Uni<UserEntity> findByUserId(String userId) {
+        return timed("findByUserId", () -> Panache.withSession(() -> repository.findByUserId(userId)));
+    }
+
+    @Override
+    public Uni<UserEntity> findByEmail(String email) {
+        return timed("findByEmail", () -> Panache.withSession(() -> repository.findByEmail(email)));
+    }
+
+    @Override
+    public Uni<UserEntity> create(UserEntity user) {
+        return timed("create", () -> Panache.withTransaction(() -> repository.persist(user)));
+    }
+
+    @Override
+    public Uni<UserEntity> update(UserEntity user) {
+        return timed("update", () -> Panache.withTransaction(
+                () -> Panache.getSession().chain(session -> session.merge(user))));
+    }
+
+    @Override
+    public Uni<Boolean> deleteByUserId(String userId) {
+        return timed("deleteByUserId", () -> Panache.withTransaction(() -> repository.delete("userId", userId)))
+                .map(deleted -> deleted > 0);
+    }
+
+    @Override
+    public Uni<Long> count() {
+        return timed("count", () -> Panache.withSession(repository::count));
+    }
+
+    @Override
+    public Uni<List<UserEntity>> findPage(int pageIndex, int pageSize) {
+        return timed("findPage", () -> Panache.withSession(() -> repository.findPage(pageIndex, pageSize)));
+    }
+
+    @Override
+    public Uni<List<UserEntity>> findPageAfter(String lastUserId, int pageSize) {
+        return timed("findPageAfter", () -> Panache.withSession(() -> repository.findPageAfter(lastUserId, pageSize)));
+    }
+
+    @Override
+    public Uni<List<UserEntity>> findUpdatedSince(LocalDateTime since) {
+        return timed("findUpdatedSince", () -> Panache.withSession(() -> repository.findUpdatedSince(since)));
+    }
+
+    @Override
+    public Uni<LocalDateTime> findOldestUpdateAfter(LocalDateTime since) {
+        return timed("findOldestUpdateAfter",
+                () -> Panache.withSession(() -> repository.findOldestUpdateAfter(since)));
+    }
+
+    @Override
+    public <T> T await(Supplier<Uni<T>> call) {
+        // Reactive sessions need a Vert.x context, which a plain background thread does not have.
+        try {
+            return VertxContextSupport.subscribeAndAwait(call);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> Uni<T> timed(String query, Supplier<Uni<T>> call) {
+        return Instrumented.runAsync(registry.timer("db_query", "query", query), "user-db",
+                new QueryEvent(query), call);
+    }
+}
@@ -0,0 +1,40 @@
+package com.corporatebanking.userservice.repository;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+public class UserRepository implements PanacheRepository<UserEntity> {
+
+    public Uni<UserEntity> findByEmail(String email) {
+        return find("lower(email) = lower(?1)", email).firstResult();
+    }
+
+    public Uni<UserEntity> findByUserId(String userId) {
+        return find("userId", userId).firstResult();
+    }
+
+    // A stable order, so pages neither repeat nor skip users; served by idx_users_created_user.
+    public Uni<List<UserEntity>> findPage(int pageIndex, int pageSize) {
+        return findAll(Sort.by("createdAt").and("userId")).page(pageIndex, pageSize).list();
+    }
+
+    public Uni<List<UserEntity>> findPageAfter(String lastUserId, int pageSize) {
+        return find("userId > ?1", Sort.by("userId"), lastUserId).page(0, pageSize).list();
+    }
+
+    public Uni<List<UserEntity>> findUpdatedSince(LocalDateTime since) {
+        return find("updatedAt > ?1", Sort.by("updatedAt"), since).list();
+    }
+
+    public Uni<LocalDateTime> findOldestUpdateAfter(LocalDateTime since) {
+        return find("updatedAt > ?1", Sort.by("updatedAt"), since).firstResult()
+                .map(oldest -> oldest != null ? oldest.updatedAt : null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.corporatebanking.userservice;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Nanosecond clock that only moves when a test advances it.
+ */
+final class ManualClock implements LongSupplier {
+
+    private long now = 1_000_000_000L;
+
+    @Override
+    public long getAsLong() {
+        return now;
+    }
+
+    void advance(Duration duration) {
+        now += duration.toNanos();
+    }
+}
@@ -0,0 +1,103 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.grpc.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(5);
+
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    void servesEntryUntilTtlPasses() {
+        UserCache cache = cache(true, 100);
+        UserResponse user = user("user-1");
+        cache.put(user);
+
+        assertSame(user, cache.get("user-1"));
+        clock.advance(TTL.minusMillis(1));
+        assertSame(user, cache.get("user-1"));
+        clock.advance(Duration.ofMillis(1));
+        assertNull(cache.get("user-1"));
+        assertEquals(0, cache.size(), "an expired entry is dropped on read");
+    }
+
+    @Test
+    void invalidateDropsEntry() {
+        UserCache cache = cache(true, 100);
+        cache.put(user("user-1"));
+        cache.invalidate("user-1");
+        assertNull(cache.get("user-1"));
+    }
+
+    @Test
+    void putReplacesEntryAndRestartsTtl() {
+        UserCache cache = cache(true, 100);
+        cache.put(user("user-1"));
+        clock.advance(TTL.minusSeconds(1));
+        UserResponse updated = UserResponse.newBuilder().setUserId("user-1").setFirstName("Updated").build();
+        cache.put(updated);
+
+        clock.advance(Duration.ofSeconds(2));
+        assertSame(updated, cache.get("user-1"));
+    }
+
+    @Test
+    void evictsExpiredEntriesFirstWhenOverMaxSize() {
+        UserCache cache = cache(true, 10);
+        for (int i = 0; i < 5; i++) {
+            cache.put(user("old-" + i));
+        }
+        clock.advance(TTL);
+        for (int i = 0; i < 6; i++) {
+            cache.put(user("new-" + i));
+        }
+
+        assertEquals(6, cache.size());
+        for (int i = 0; i < 6; i++) {
+            assertEquals("new-" + i, cache.get("new-" + i).getUserId());
+        }
+    }
+
+    @Test
+    void staysBoundedWhenNothingHasExpired() {
+        UserCache cache = cache(true, 10);
+        for (int i = 0; i < 100; i++) {
+            cache.put(user("user-" + i));
+            assertTrue(cache.size() <= 10, "size " + cache.size());
+        }
+        assertEquals("user-99", cache.get("user-99").getUserId(), "the entry just put is kept");
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        UserCache cache = cache(false, 100);
+        cache.put(user("user-1"));
+        assertNull(cache.get("user-1"));
+        assertEquals(0, cache.size());
+    }
+
+    private UserCache cache(boolean enabled, int maxSize) {
+        UserCache cache = new UserCache();
+        cache.enabled = enabled;
+        cache.maxSize = maxSize;
+        cache.ttl = TTL;
+        cache.registry = new SimpleMeterRegistry();
+        cache.clock = clock;
+        cache.init();
+        return cache;
+    }
+
+    private static UserResponse user(String userId) {
+        return UserResponse.newBuilder().setUserId(userId).setEmail(userId + "@example.com").build();
+    }
+}
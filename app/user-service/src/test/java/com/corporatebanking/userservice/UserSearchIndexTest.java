@@ -0,0 +1,189 @@
+package com.corporatebanking.userservice;
+
+import com.corporatebanking.userservice.entity.UserEntity;
+import com.corporatebanking.userservice.grpc.UserResponse;
+import com.corporatebanking.userservice.repository.UserStore;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserSearchIndexTest {
+
+    private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(30);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final FakeStore store = new FakeStore();
+    private final UserSearchIndex index = index(store);
+
+    @Test
+    void termsFoldAccentsAndCase() {
+        UserResponse user = user("user-1", "Zoë", "Ångström", "Zoe.Angstrom@Example.com");
+
+        assertEquals(List.of("zoe", "angstrom", "example", "com", "zoe.angstrom@example.com"),
+                UserSearchIndex.termsOf(user));
+
+        index.put(user);
+        assertEquals(List.of(user), index.search("ZOË", 10));
+        assertEquals(List.of(user), index.search("angs", 10));
+        assertEquals(List.of(user), index.search("zoe.angstrom@", 10));
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        UserResponse doe = user("user-1", "Jane", "Doe", "jane.doe@example.com");
+        UserResponse smith = user("user-2", "Jane", "Smith", "js@example.com");
+        index.put(doe);
+        index.put(smith);
+
+        assertEquals(2, index.search("jane", 10).size());
+        assertEquals(List.of(smith), index.search("jane sm", 10));
+        assertEquals(List.of(smith), index.search("sm jane", 10));
+        assertEquals(List.of(), index.search("jane jones", 10));
+    }
+
+    @Test
+    void stopsAtLimit() {
+        for (int i = 0; i < 5; i++) {
+            index.put(user("user-" + i, "Anna", "N" + i, "anna" + i + "@example.com"));
+        }
+
+        assertEquals(3, index.search("anna", 3).size());
+        assertEquals(List.of(), index.search("anna", 0));
+        assertEquals(List.of(), index.search(" ", 10));
+    }
+
+    @Test
+    void stopsScanningAfterMaxScannedPostings() {
+        for (int i = 0; i < UserSearchIndex.MAX_SCANNED; i++) {
+            index.put(user(String.format("user-%05d", i), String.format("aa%05d", i), "x", "z" + i + "@example.com"));
+        }
+        UserResponse target = user("user-target", "ab", "target", "target@example.com");
+        index.put(target);
+
+        assertEquals(List.of(), index.search("a target", 10), "the only match is past the scan limit");
+        assertEquals(List.of(target), index.search("ab target", 10));
+    }
+
+    @Test
+    void putReplacesEarlierTerms() {
+        index.put(user("user-1", "Jane", "Doe", "jane@example.com"));
+        UserResponse renamed = user("user-1", "Jane", "Smith", "jane@example.com");
+        index.put(renamed);
+
+        assertEquals(List.of(), index.search("doe", 10));
+        assertEquals(List.of(renamed), index.search("smith", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void rebuildDropsUsersDeletedElsewhere() {
+        store.add(entity("user-1", "Jane", "Doe", NOW));
+        store.add(entity("user-2", "John", "Roe", NOW));
+        index.rebuild();
+        assertTrue(index.isReady());
+        assertEquals(2, index.size());
+
+        store.rows.remove("user-2");
+        index.rebuild();
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), index.search("john", 10));
+        assertEquals(1, index.search("jane", 10).size());
+    }
+
+    @Test
+    void refreshRereadsOneIntervalBeforeNewestSeenUpdate() {
+        store.add(entity("user-1", "Jane", "Doe", NOW));
+        index.rebuild();
+
+        // Committed after user-1 was seen, with an earlier updated_at.
+        store.add(entity("user-2", "John", "Roe", NOW.minusSeconds(10)));
+        index.refresh();
+
+        assertEquals(NOW.minus(REFRESH_INTERVAL), store.lastSince);
+        assertEquals(1, index.search("john", 10).size());
+
+        store.add(entity("user-3", "Mary", "Poe", NOW.plusSeconds(5)));
+        index.refresh();
+        index.refresh();
+
+        assertEquals(NOW.plusSeconds(5).minus(REFRESH_INTERVAL), store.lastSince);
+        assertEquals(3, index.size());
+    }
+
+    private static UserSearchIndex index(FakeStore store) {
+        UserSearchIndex index = new UserSearchIndex();
+        index.enabled = true;
+        index.refreshInterval = REFRESH_INTERVAL;
+        index.rebuildInterval = Duration.ofMinutes(15);
+        index.userStore = store.proxy();
+        return index;
+    }
+
+    private static UserResponse user(String userId, String firstName, String lastName, String email) {
+        return UserResponse.newBuilder()
+                .setUserId(userId)
+                .setFirstName(firstName)
+                .setLastName(lastName)
+                .setEmail(email)
+                .build();
+    }
+
+    private static UserEntity entity(String userId, String firstName, String lastName, LocalDateTime updatedAt) {
+        UserEntity entity = new UserEntity();
+        entity.userId = userId;
+        entity.firstName = firstName;
+        entity.lastName = lastName;
+        entity.email = userId + "@example.com";
+        entity.updatedAt = updatedAt;
+        return entity;
+    }
+
+    /**
+     * Users by id; only the calls the index makes are answered.
+     */
+    private static class FakeStore {
+
+        final TreeMap<String, UserEntity> rows = new TreeMap<>();
+        LocalDateTime lastSince;
+
+        void add(UserEntity entity) {
+            rows.put(entity.userId, entity);
+        }
+
+        @SuppressWarnings("unchecked")
+        UserStore proxy() {
+            return (UserStore) Proxy.newProxyInstance(UserStore.class.getClassLoader(),
+                    new Class<?>[]{UserStore.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "await":
+                                return ((Supplier<Uni<?>>) args[0]).get().await().indefinitely();
+                            case "findPageAfter":
+                                List<UserEntity> page = new ArrayList<>(rows.tailMap((String) args[0], false).values());
+                                return Uni.createFrom().item(page.subList(0, Math.min(page.size(), (int) args[1])));
+                            case "findUpdatedSince":
+                                lastSince = (LocalDateTime) args[0];
+                                List<UserEntity> changed = new ArrayList<>();
+                                for (UserEntity entity : rows.values()) {
+                                    if (entity.updatedAt.isAfter(lastSince)) {
+                                        changed.add(entity);
+                                    }
+                                }
+                                return Uni.createFrom().item(changed);
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+-- Schema as Hibernate generated it before migrations took over; existing databases are
+-- baselined at this version (FLYWAY_BASELINE_ON_MIGRATE) and start with V2.
+
+CREATE TABLE users (
+    user_id               VARCHAR2(100 CHAR) NOT NULL,
+    email                 VARCHAR2(255 CHAR) NOT NULL,
+    password_hash         VARCHAR2(255 CHAR),
+    first_name            VARCHAR2(100 CHAR),
+    last_name             VARCHAR2(100 CHAR),
+    phone_number          VARCHAR2(50 CHAR),
+    role                  VARCHAR2(50 CHAR),
+    last_login_at         TIMESTAMP,
+    failed_login_attempts NUMBER(10, 0),
+    created_at            TIMESTAMP,
+    updated_at            TIMESTAMP,
+    CONSTRAINT pk_users PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE auth_audit_log (
+    id         NUMBER(19, 0) GENERATED BY DEFAULT AS IDENTITY,
+    event_time TIMESTAMP NOT NULL,
+    event_type VARCHAR2(20 CHAR) NOT NULL,
+    success    NUMBER(1, 0) NOT NULL CHECK (success IN (0, 1)),
+    subject    VARCHAR2(255 CHAR),
+    detail     VARCHAR2(500 CHAR),
+    CONSTRAINT pk_auth_audit_log PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_auth_audit_subject_time ON auth_audit_log (subject, event_time);
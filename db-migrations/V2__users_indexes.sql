@@ -0,0 +1,10 @@
+-- ListUsers pages in (created_at, user_id) order; the index serves the sort and the
+-- page boundary without reading the whole table.
+CREATE INDEX idx_users_created_user ON users (created_at, user_id);
+
+-- Email lookups (login, duplicate checks) compare LOWER(email), so they need a
+-- function-based index; the unique constraint on email stays as it is.
+CREATE INDEX idx_users_email_lower ON users (LOWER(email));
+
+-- The search index polls for rows changed since its last refresh.
+CREATE INDEX idx_users_updated_at ON users (updated_at);
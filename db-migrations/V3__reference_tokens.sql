@@ -0,0 +1,16 @@
+-- Reference access tokens (auth.token.mode=reference) are looked up by id on every
+-- validation, from whichever authorization-service replica receives the call.
+-- expires_at is epoch milliseconds.
+
+CREATE TABLE reference_tokens (
+    id         VARCHAR2(32 CHAR) NOT NULL,
+    user_id    VARCHAR2(100 CHAR) NOT NULL,
+    username   VARCHAR2(255 CHAR),
+    email      VARCHAR2(255 CHAR),
+    roles      VARCHAR2(255 CHAR),
+    expires_at NUMBER(19, 0) NOT NULL,
+    CONSTRAINT pk_reference_tokens PRIMARY KEY (id)
+);
+
+-- The sweeper deletes expired tokens every minute.
+CREATE INDEX idx_reference_tokens_expires ON reference_tokens (expires_at);
@@ -0,0 +1,23 @@
+-- Email lookups match LOWER(email) and take the first row, so two users whose emails differ
+-- only in case would shadow each other. The LOWER(email) index from V2 becomes unique.
+--
+-- Existing case-duplicates would make CREATE UNIQUE INDEX fail halfway, so they are detected
+-- first and the migration stops before changing anything. Resolve them as described in
+-- db-migrations/README.md, then rerun it.
+
+DECLARE
+    duplicates NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO duplicates
+    FROM (SELECT LOWER(email) FROM users GROUP BY LOWER(email) HAVING COUNT(*) > 1);
+    IF duplicates > 0 THEN
+        RAISE_APPLICATION_ERROR(-20001, duplicates
+            || ' email addresses are registered more than once in different case;'
+            || ' resolve them before applying V4, see db-migrations/README.md');
+    END IF;
+END;
+/
+
+DROP INDEX idx_users_email_lower;
+
+CREATE UNIQUE INDEX idx_users_email_lower ON users (LOWER(email));